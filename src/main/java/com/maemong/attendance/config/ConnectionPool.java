@@ -0,0 +1,272 @@
+package com.maemong.attendance.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 점포 DB 파일 하나에 대한 SQLite 연결 풀
+ * - 최대 연결 수 제한(초과 요청은 대기, 제한 시간 초과 시 SQLException)
+ * - 오래 쉰 연결은 빌려주기 전에 SELECT 1로 상태 점검 (락 밖에서 → 느린 점검이 다른 대여를 막지 않음)
+ * - 유휴 시간이 길어진 연결은 minIdle만 남기고 정리
+ * - hit/miss/대기 시간 카운터 제공 ({@link #stats()})
+ * - 연결마다 PreparedStatement LRU 캐시 ({@link PooledConnection#prepare(String)})
+ */
+public final class ConnectionPool {
+
+    private static final int  DEFAULT_MAX_SIZE      = 4;
+    private static final int  DEFAULT_MIN_IDLE      = 1;
+    private static final long DEFAULT_IDLE_TIMEOUT  = TimeUnit.SECONDS.toNanos(60);
+    private static final long DEFAULT_VALIDATE_AFTER = TimeUnit.SECONDS.toNanos(30);
+    private static final long DEFAULT_BORROW_TIMEOUT = TimeUnit.SECONDS.toNanos(10);
+
+    private final String dbPath;
+    private final int maxSize;
+    private final int minIdle;
+    private final long idleTimeoutNanos;
+    private final long validateAfterNanos;
+    private final long borrowTimeoutNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final ArrayDeque<PooledConnection> idle = new ArrayDeque<>(); // 앞쪽이 가장 최근 반납(LIFO)
+    private int total;       // idle + 대여 중
+    private boolean closed;
+    private final AtomicLong schemaEpoch = new AtomicLong(); // 스키마 변경 시 증가 → 문장 캐시 무효화
+
+    /* ===== 통계 ===== */
+    private final LongAdder hits        = new LongAdder(); // 유휴 연결 재사용
+    private final LongAdder misses      = new LongAdder(); // 새 연결 생성
+    private final LongAdder waits       = new LongAdder(); // 풀이 가득 차 대기한 횟수
+    private final LongAdder waitNanos   = new LongAdder(); // 누적 대기 시간
+    private final LongAdder evictions   = new LongAdder(); // 유휴 정리로 닫은 연결
+    private final LongAdder invalidated = new LongAdder(); // 상태 점검 실패로 폐기한 연결
+    private final LongAdder stmtHits    = new LongAdder(); // 캐시된 PreparedStatement 재사용
+    private final LongAdder stmtMisses  = new LongAdder(); // 새로 준비한 PreparedStatement
+    private final LongAdder stmtEvicted = new LongAdder(); // LRU 초과로 닫은 PreparedStatement
+
+    public ConnectionPool(String dbPath) {
+        this(dbPath, DEFAULT_MAX_SIZE, DEFAULT_MIN_IDLE,
+             DEFAULT_IDLE_TIMEOUT, DEFAULT_VALIDATE_AFTER, DEFAULT_BORROW_TIMEOUT);
+    }
+
+    public ConnectionPool(String dbPath, int maxSize, int minIdle,
+                          long idleTimeoutNanos, long validateAfterNanos, long borrowTimeoutNanos) {
+        if (maxSize < 1) throw new IllegalArgumentException("maxSize는 1 이상이어야 합니다.");
+        this.dbPath = dbPath;
+        this.maxSize = maxSize;
+        this.minIdle = Math.max(0, Math.min(minIdle, maxSize));
+        this.idleTimeoutNanos = idleTimeoutNanos;
+        this.validateAfterNanos = validateAfterNanos;
+        this.borrowTimeoutNanos = borrowTimeoutNanos;
+    }
+
+    public String getDbPath() { return dbPath; }
+
+    /** 연결 대여. 반드시 try-with-resources 로 닫아서(=반납) 사용 */
+    public PooledConnection borrow() throws SQLException {
+        final long start = System.nanoTime();
+        while (true) {
+            PooledConnection pc = takeIdleOrReserve(start);
+            if (pc == null) return open(); // 자리만 예약됨 → 새 연결
+
+            // 유휴 목록에서 꺼낸 연결은 다른 스레드가 못 봄 → 점검은 락 밖에서
+            if (System.nanoTime() - pc.lastUsedNanos() < validateAfterNanos || isHealthy(pc)) {
+                hits.increment();
+                pc.markBorrowed();
+                return pc;
+            }
+            invalidated.increment();
+            lock.lock();
+            try {
+                discardLocked(pc);
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /** 유휴 연결 하나를 꺼내거나, 없으면 새 연결 자리를 예약(null 반환). 가득 차면 대기 */
+    private PooledConnection takeIdleOrReserve(long start) throws SQLException {
+        boolean waited = false;
+        lock.lock();
+        try {
+            while (true) {
+                if (closed) throw new SQLException("연결 풀이 닫혔습니다: " + dbPath);
+                long now = System.nanoTime();
+                evictIdleLocked(now);
+
+                PooledConnection pc = idle.pollFirst();
+                if (pc != null) return pc;
+                if (total < maxSize) {
+                    total++; // 자리 예약 후 락 밖에서 생성
+                    return null;
+                }
+
+                long remaining = borrowTimeoutNanos - (now - start);
+                if (remaining <= 0) {
+                    throw new SQLException("DB 연결 대기 시간 초과 (" + maxSize + "개 모두 사용 중): " + dbPath);
+                }
+                waited = true;
+                try {
+                    available.awaitNanos(remaining);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("DB 연결 대기 중 인터럽트", ie);
+                }
+            }
+        } finally {
+            if (waited) {
+                waits.increment();
+                waitNanos.add(System.nanoTime() - start);
+            }
+            lock.unlock();
+        }
+    }
+
+    /** 예약한 자리에 새 물리 연결 생성 (실패하면 자리 반환) */
+    private PooledConnection open() throws SQLException {
+        try {
+            Connection raw = Database.openConnection(dbPath);
+            misses.increment();
+            PooledConnection pc = new PooledConnection(this, raw);
+            pc.markBorrowed();
+            return pc;
+        } catch (SQLException | RuntimeException e) {
+            lock.lock();
+            try {
+                total--;
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+    }
+
+    /** PooledConnection.close()에서 호출 */
+    void release(PooledConnection pc) {
+        boolean reusable = !pc.isBroken() && resetState(pc);
+        lock.lock();
+        try {
+            if (closed || !reusable) {
+                discardLocked(pc);
+            } else {
+                pc.touch(System.nanoTime());
+                idle.addFirst(pc);
+            }
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 모든 유휴 연결을 닫고 이후 대여를 거부. 대여 중인 연결은 반납 시 닫힘 */
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            PooledConnection pc;
+            while ((pc = idle.pollFirst()) != null) discardLocked(pc);
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 이 DB의 스키마를 바꾼 뒤 호출. 모든 연결의 문장 캐시가 다음 prepare()에서 비워진다.
+     * (대여 중인 연결은 각자 스레드에서 확인하므로 락 불필요)
+     */
+    public void schemaChanged() {
+        schemaEpoch.incrementAndGet();
+    }
+
+    long schemaEpoch() { return schemaEpoch.get(); }
+    void statementHit()     { stmtHits.increment(); }
+    void statementMiss()    { stmtMisses.increment(); }
+    void statementEvicted() { stmtEvicted.increment(); }
+
+    public PoolStats stats() {
+        lock.lock();
+        try {
+            return new PoolStats(dbPath, maxSize, total, idle.size(),
+                    hits.sum(), misses.sum(), waits.sum(),
+                    TimeUnit.NANOSECONDS.toMillis(waitNanos.sum()),
+                    evictions.sum(), invalidated.sum(),
+                    stmtHits.sum(), stmtMisses.sum(), stmtEvicted.sum());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* ===================== 내부 ===================== */
+
+    /** 가장 오래 쉰 연결(뒤쪽)부터 idleTimeout을 넘긴 것을 minIdle까지 정리 */
+    private void evictIdleLocked(long now) {
+        Iterator<PooledConnection> it = idle.descendingIterator();
+        while (it.hasNext() && idle.size() > minIdle) {
+            PooledConnection pc = it.next();
+            if (now - pc.lastUsedNanos() < idleTimeoutNanos) break; // 나머지는 더 최근
+            it.remove();
+            evictions.increment();
+            discardLocked(pc);
+        }
+    }
+
+    private void discardLocked(PooledConnection pc) {
+        total--;
+        pc.closeStatements();
+        try { pc.connection().close(); } catch (SQLException ignored) {}
+    }
+
+    private static boolean isHealthy(PooledConnection pc) {
+        try (Statement st = pc.connection().createStatement()) {
+            st.execute("SELECT 1");
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /** 반납 전 트랜잭션 상태 원복. 실패하면 재사용하지 않음 */
+    private static boolean resetState(PooledConnection pc) {
+        try {
+            Connection c = pc.connection();
+            if (c.isClosed()) return false;
+            if (!c.getAutoCommit()) {
+                c.rollback();
+                c.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /** 풀 상태 스냅샷 */
+    public record PoolStats(String dbPath, int maxSize, int total, int idle,
+                            long hits, long misses, long waits, long waitMillis,
+                            long evictions, long invalidated,
+                            long stmtHits, long stmtMisses, long stmtEvicted) {
+        /** 유휴 연결 재사용 비율 (0~1) */
+        public double hitRate() {
+            long n = hits + misses;
+            return n == 0 ? 0.0 : (double) hits / n;
+        }
+
+        /** PreparedStatement 캐시 적중 비율 (0~1) */
+        public double statementHitRate() {
+            long n = stmtHits + stmtMisses;
+            return n == 0 ? 0.0 : (double) stmtHits / n;
+        }
+    }
+}
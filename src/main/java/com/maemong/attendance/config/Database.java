@@ -3,13 +3,67 @@ package com.maemong.attendance.config;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Database {
 
-    /** 호출 시점의 점포 컨텍스트(StoreContext) 기준으로 연결 생성 */
-    public static Connection getConnection() throws SQLException {
-	    String dbPath = StoreContext.getDbFilePath();
+    /**
+     * DB 파일 경로(정규화) → 연결 풀 (점포 전환 시 이전 점포 풀은 닫고 제거 → 되돌아오면 새로 생성)
+     * - 점포 이름이 아닌 경로로 구분 → 같은 폴더로 정리되는 두 점포 이름도 풀 하나,
+     *   경로를 한 번만 읽으므로 전환 도중에도 풀과 파일이 어긋나지 않음
+     */
+    private static final ConcurrentHashMap<String, ConnectionPool> POOLS = new ConcurrentHashMap<>();
 
+    /** 호출 시점의 점포 컨텍스트(StoreContext) 기준 풀에서 연결 대여 */
+    public static PooledConnection borrow() throws SQLException {
+        return pool().borrow();
+    }
+
+    /** 현재 점포의 연결 풀 */
+    public static ConnectionPool pool() {
+        return POOLS.computeIfAbsent(StoreContext.getDbFilePath(), ConnectionPool::new);
+    }
+
+    /** 현재 점포 DB의 스키마 기능 캐시 (PRAGMA 조회 없이 컬럼/인덱스 존재 확인) */
+    public static SchemaCapabilities capabilities() throws SQLException {
+        ConnectionPool p = pool();
+        SchemaCapabilities caps = SchemaMigrator.capabilities(p.getDbPath());
+        if (caps == null) {
+            try (PooledConnection pc = p.borrow()) {
+                // 보통 첫 연결 생성 때 이미 끝남 → 여기서는 캐시 확인만 (안 됐으면 이 연결로 마이그레이션 + 조사)
+                SchemaMigrator.migrateOnce(p.getDbPath(), pc.connection());
+                caps = SchemaMigrator.capabilities(p.getDbPath());
+            }
+        }
+        return caps;
+    }
+
+    /**
+     * 점포 전환 시 이전 점포의 풀을 닫음 (StoreContext.setStore 에서 호출)
+     * - 유휴 연결/SQLite 파일 핸들은 바로 닫고, 대여 중인 연결은 반납될 때 닫힘
+     */
+    static void retire(String dbPath) {
+        ConnectionPool p = POOLS.remove(dbPath);
+        if (p != null) p.close();
+    }
+
+    /** 해당 DB 파일을 쓰는 풀의 문장 캐시 무효화 (마이그레이션 밖 스키마 변경 후) */
+    static void schemaChanged(String dbPath) {
+        ConnectionPool p = POOLS.get(dbPath);
+        if (p != null) p.schemaChanged();
+    }
+
+    /** 점포별 풀 통계 (hit/miss/대기 시간) */
+    public static List<ConnectionPool.PoolStats> poolStats() {
+        List<ConnectionPool.PoolStats> list = new ArrayList<>();
+        for (ConnectionPool p : POOLS.values()) list.add(p.stats());
+        return list;
+    }
+
+    /** 풀 내부용: 새 물리 연결 생성 + PRAGMA + (최초 1회) 스키마 마이그레이션 */
+    static Connection openConnection(String dbPath) throws SQLException {
 	    // 상위 폴더 생성(혹시 누락돼 있을 수 있으니 안전하게)
 	    try {
 		    Path parent = Path.of(dbPath).getParent();
@@ -22,116 +76,16 @@ public class Database {
 		    // ✅ 성능/안정성 추천 설정
 		    st.execute("PRAGMA journal_mode=WAL;");
 		    st.execute("PRAGMA synchronous=NORMAL;");
+		    // 풀의 다른 연결이 쓰는 중이면 바로 실패하지 않고 잠시 대기
+		    st.execute("PRAGMA busy_timeout=5000;");
 	    }
 
-	    ensureSchemas(conn); // 기존 스키마 보정 로직 그대로 유지
+	    try {
+		    SchemaMigrator.migrateOnce(dbPath, conn); // 프로세스당 DB 파일마다 1회
+	    } catch (SQLException e) {
+		    try { conn.close(); } catch (SQLException ignored) {}
+		    throw e;
+	    }
 	    return conn;
     }
-
-    /* ───────── 스키마 보장/마이그레이션 ───────── */
-
-    private static void ensureSchemas(Connection conn) throws SQLException {
-        ensureEmployeesSchema(conn);
-        ensureAttendanceSchema(conn); // UNIQUE(emp_no, work_date) 제거 마이그레이션 포함
-    }
-
-    private static void ensureEmployeesSchema(Connection conn) throws SQLException {
-        String sql = null;
-        try (PreparedStatement ps = conn.prepareStatement(
-                "SELECT sql FROM sqlite_master WHERE type='table' AND name='employees'");
-             ResultSet rs = ps.executeQuery()) {
-            if (rs.next()) sql = rs.getString(1);
-        }
-        if (sql == null) {
-            try (Statement st = conn.createStatement()) {
-                st.executeUpdate("""
-                    CREATE TABLE employees (
-                      emp_no      TEXT PRIMARY KEY,
-                      name        TEXT NOT NULL,
-                      position    TEXT,
-                      rrn         TEXT,
-                      phone       TEXT,
-                      hourly_wage INTEGER DEFAULT 0,
-                      bank        TEXT,
-                      account_no  TEXT,
-                      address     TEXT,
-                      contract_date TEXT,
-                      note        TEXT
-                    )
-                """);
-            }
-        }
-    }
-    
-    private static void ensureAttendanceSchema(Connection conn) throws SQLException {
-        // 현재 테이블 DDL
-        String createSql = null;
-        try (PreparedStatement ps = conn.prepareStatement(
-                "SELECT sql FROM sqlite_master WHERE type='table' AND name='attendance'");
-             ResultSet rs = ps.executeQuery()) {
-            if (rs.next()) createSql = rs.getString(1);
-        }
-
-        boolean needCreate = (createSql == null);
-
-        // 현재 컬럼 목록 조회
-        java.util.Set<String> cols = new java.util.HashSet<>();
-        if (!needCreate) {
-            try (PreparedStatement ps = conn.prepareStatement("PRAGMA table_info(attendance)");
-                 ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) cols.add(rs.getString("name"));
-            }
-        }
-
-        boolean hasIdCol = cols.contains("id"); // ← 핵심: id 유무
-        boolean hasUniquePerDay = (createSql != null && createSql.contains("UNIQUE(emp_no, work_date)"));
-
-        if (needCreate) {
-            try (Statement st = conn.createStatement()) {
-                st.executeUpdate("""
-                    CREATE TABLE attendance (
-                      id        INTEGER PRIMARY KEY AUTOINCREMENT,
-                      emp_no    TEXT NOT NULL,
-                      work_date TEXT NOT NULL,   -- yyyy-MM-dd
-                      clock_in  TEXT,            -- HH:mm:ss
-                      clock_out TEXT,            -- HH:mm:ss
-                      memo      TEXT,
-                      FOREIGN KEY(emp_no) REFERENCES employees(emp_no)
-                    )
-                """);
-            }
-            return;
-        }
-
-        // id 컬럼이 없거나, UNIQUE(emp_no, work_date) 제약이 있으면 재생성 + 데이터 이관
-        if (!hasIdCol || hasUniquePerDay) {
-            try (Statement st = conn.createStatement()) {
-                st.execute("PRAGMA foreign_keys=OFF;");
-                st.execute("BEGIN TRANSACTION;");
-                st.execute("""
-                    CREATE TABLE attendance_new (
-                      id        INTEGER PRIMARY KEY AUTOINCREMENT,
-                      emp_no    TEXT NOT NULL,
-                      work_date TEXT NOT NULL,
-                      clock_in  TEXT,
-                      clock_out TEXT,
-                      memo      TEXT,
-                      FOREIGN KEY(emp_no) REFERENCES employees(emp_no)
-                    )
-                """);
-
-                // 기존에 id가 없을 수도 있으므로 컬럼을 명시하지 않고 복사
-                st.execute("""
-                    INSERT INTO attendance_new (emp_no, work_date, clock_in, clock_out, memo)
-                    SELECT emp_no, work_date, clock_in, clock_out, memo
-                    FROM attendance
-                """);
-
-                st.execute("DROP TABLE attendance;");
-                st.execute("ALTER TABLE attendance_new RENAME TO attendance;");
-                st.execute("COMMIT;");
-                st.execute("PRAGMA foreign_keys=ON;");
-            }
-        }
-    }
 }
@@ -0,0 +1,152 @@
+package com.maemong.attendance.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * attendance 정수 날짜/시각 보조 컬럼 (opt-in: -Dattendance.intColumns=true)
+ * - date_day / out_day : epoch day (1970-01-01 = 0)
+ * - in_sec / out_sec   : 0시 기준 초 (0 ~ 86399)
+ * - 텍스트 컬럼은 그대로 두고 옆에 유지 → 기존 조회/CSV/화면 코드는 변경 없음
+ * - 동기화는 트리거(INSERT, 텍스트 시각 컬럼 UPDATE)로 → 저장 경로 수정 불필요
+ *
+ * 온라인 마이그레이션 순서
+ * 1) 컬럼 + 트리거 추가 (즉시, 이후 쓰기는 트리거가 채움)
+ * 2) 기존 행은 백그라운드에서 id 순서로 BACKFILL_CHUNK 행씩 짧은 트랜잭션으로 채움 (그 사이 일반 쓰기 가능)
+ * 3) 다 채우면 정수 인덱스 생성 (사번용 idx_att_emp_day 먼저, 준비 표시인 idx_att_day 마지막)
+ *    → idx_att_day 가 있을 때만 리포지토리가 정수 경로 사용
+ *    단, date_day 가 텍스트 날짜와 맞지 않는 행(형식이 깨진 날짜 → NULL 등)이 하나라도 있으면 만들지 않음
+ *    (정수 범위 조회에서 그 행이 빠지므로 텍스트 경로 유지, 다음 실행 때 다시 확인)
+ */
+final class IntTimeColumns {
+
+    private static final Logger log = LoggerFactory.getLogger(IntTimeColumns.class);
+
+    static final String PROPERTY = "attendance.intColumns";
+    /** 존재 = 백필 완료 (SchemaCapabilities#intTimeColumnsReady) */
+    static final String READY_INDEX = "idx_att_day";
+    /** 사번 + 기간 조회용 (emp_no = ? AND date_day 범위, 정렬까지 인덱스 순서로) */
+    static final String EMP_INDEX = "idx_att_emp_day";
+    static final int BACKFILL_CHUNK = 5000;
+
+    /** sqlite 날짜 함수는 'HH:MM:SS' 단독 값을 2000-01-01 로 해석 (epoch 초가 86400의 배수) */
+    private static final String ASSIGN = """
+            date_day = unixepoch(%1$s"date") / 86400,
+            in_sec   = unixepoch(%1$sin_time) %% 86400,
+            out_day  = unixepoch(%1$s"out_date") / 86400,
+            out_sec  = unixepoch(%1$sout_time) %% 86400""";
+
+    private IntTimeColumns() {}
+
+    static boolean enabled() { return Boolean.getBoolean(PROPERTY); }
+
+    /** 1단계: 컬럼/트리거 보장 (마이그레이션 직후, 같은 연결에서) */
+    static void install(Connection c) throws SQLException {
+        Set<String> cols = SchemaMigrator.columns(c, "attendance");
+        c.setAutoCommit(false);
+        try (Statement st = c.createStatement()) {
+            for (String col : new String[]{"date_day", "in_sec", "out_day", "out_sec"}) {
+                if (!cols.contains(col)) st.executeUpdate("ALTER TABLE attendance ADD COLUMN " + col + " INTEGER");
+            }
+            st.executeUpdate("""
+                CREATE TRIGGER IF NOT EXISTS trg_att_int_ins AFTER INSERT ON attendance
+                BEGIN
+                  UPDATE attendance SET %s WHERE id = NEW.id;
+                END
+                """.formatted(ASSIGN.formatted("NEW.")));
+            st.executeUpdate("""
+                CREATE TRIGGER IF NOT EXISTS trg_att_int_upd
+                AFTER UPDATE OF "date", in_time, "out_date", out_time ON attendance
+                BEGIN
+                  UPDATE attendance SET %s WHERE id = NEW.id;
+                END
+                """.formatted(ASSIGN.formatted("NEW.")));
+            c.commit();
+        } catch (SQLException | RuntimeException e) {
+            c.rollback();
+            throw e;
+        } finally {
+            c.setAutoCommit(true);
+        }
+    }
+
+    static boolean isReady(Connection c) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(
+                "SELECT 1 FROM sqlite_master WHERE type='index' AND name=?")) {
+            ps.setString(1, READY_INDEX);
+            try (ResultSet rs = ps.executeQuery()) { return rs.next(); }
+        }
+    }
+
+    /** 2단계: id > afterId 인 다음 청크를 채우고 마지막 id 반환 (더 없으면 -1) */
+    static long backfillChunk(Connection c, long afterId) throws SQLException {
+        long last = -1;
+        try (PreparedStatement ps = c.prepareStatement(
+                "SELECT max(id) FROM (SELECT id FROM attendance WHERE id > ? ORDER BY id LIMIT ?)")) {
+            ps.setLong(1, afterId);
+            ps.setInt(2, BACKFILL_CHUNK);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) { last = rs.getLong(1); if (rs.wasNull()) last = -1; }
+            }
+        }
+        if (last < 0) return -1;
+        try (PreparedStatement ps = c.prepareStatement(
+                "UPDATE attendance SET " + ASSIGN.formatted("") + " WHERE id > ? AND id <= ?")) {
+            ps.setLong(1, afterId);
+            ps.setLong(2, last);
+            ps.executeUpdate();
+        }
+        return last;
+    }
+
+    /** date_day 로 바꿨을 때 텍스트 날짜와 달라지는 행 수 (NULL, 2월 30일처럼 정규화된 날짜 포함) */
+    static long mismatchedDays(Connection c) throws SQLException {
+        try (Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery(
+                     "SELECT count(*) FROM attendance WHERE date(date_day * 86400, 'unixepoch') IS NOT \"date\"")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    /**
+     * 3단계: 정수 범위/합계용 인덱스 (입근일, 출근초 순서 = 기존 텍스트 정렬과 동일)
+     * - 이미 준비된 DB 에도 마이그레이션 때 다시 호출 → 나중에 추가된 인덱스만 생성 (IF NOT EXISTS)
+     */
+    static void finish(Connection c) throws SQLException {
+        try (Statement st = c.createStatement()) {
+            st.executeUpdate("CREATE INDEX IF NOT EXISTS " + EMP_INDEX
+                    + " ON attendance(emp_no, date_day, in_sec, id)");
+            st.executeUpdate("CREATE INDEX IF NOT EXISTS " + READY_INDEX
+                    + " ON attendance(date_day, in_sec, emp_no, id, out_day, out_sec)");
+        }
+    }
+
+    /** 백필 전체 실행 (전용 연결). 완료 후 스키마 기능/문장 캐시 갱신 */
+    static void backfill(String dbPath) {
+        try (Connection c = Database.openConnection(dbPath)) {
+            long after = 0;
+            while ((after = backfillChunk(c, after)) >= 0) {
+                Thread.yield(); // 청크 사이에 다른 쓰기 허용
+            }
+            long bad = mismatchedDays(c);
+            if (bad > 0) {
+                log.warn("정수 날짜 컬럼 사용 보류: 날짜 형식이 잘못된 기록 {}건 (텍스트 조회 유지) — {}", bad, dbPath);
+                return;
+            }
+            finish(c);
+            SchemaMigrator.refresh(dbPath, c);
+            Database.schemaChanged(dbPath);
+            log.info("정수 날짜/시각 컬럼 백필 완료 — {}", dbPath);
+        } catch (SQLException e) {
+            // 다음 실행 때 처음부터 다시 (백필은 멱등), 그때까지 텍스트 조회
+            log.error("정수 날짜/시각 컬럼 백필 실패 — {}", dbPath, e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.maemong.attendance.config;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 풀에서 빌린 연결. close() 하면 실제로 닫지 않고 풀에 반납한다.
+ * <pre>
+ * try (PooledConnection pc = Database.borrow()) {
+ *     PreparedStatement ps = pc.prepare(sql); // 캐시된 문장 → close() 하지 말 것
+ *     ...
+ * }
+ * </pre>
+ */
+public final class PooledConnection implements AutoCloseable {
+    /** 연결당 캐시할 PreparedStatement 수 (저장소 SQL 종류보다 넉넉하게) */
+    static final int STATEMENT_CACHE_SIZE = 32;
+
+    private final ConnectionPool pool;
+    private final Connection conn;
+    private long lastUsedNanos = System.nanoTime();
+    private boolean borrowed;
+    private boolean broken;
+
+    /** SQL 원문 → 준비된 문장 (접근 순서 LRU) */
+    private final LinkedHashMap<String, PreparedStatement> statements =
+            new LinkedHashMap<>(STATEMENT_CACHE_SIZE * 2, 0.75f, true);
+    private long statementEpoch;
+
+    PooledConnection(ConnectionPool pool, Connection conn) {
+        this.pool = pool;
+        this.conn = conn;
+        this.statementEpoch = pool.schemaEpoch();
+    }
+
+    /** 실제 JDBC 연결. 직접 close() 하지 말 것 */
+    public Connection connection() { return conn; }
+
+    /**
+     * SQL 원문 기준으로 캐시된 PreparedStatement 반환 (없으면 준비 후 캐시)
+     * - 반환된 문장은 연결이 소유 → 호출부에서 close() 하지 말 것 (ResultSet은 닫을 것)
+     * - 이전 바인딩 값은 지워서 돌려줌
+     * - 스키마 변경({@link ConnectionPool#schemaChanged()}) 이후 첫 호출에서 전부 비움
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        long epoch = pool.schemaEpoch();
+        if (epoch != statementEpoch) {
+            closeStatements();
+            statementEpoch = epoch;
+        }
+        PreparedStatement ps = statements.get(sql);
+        if (ps != null && !ps.isClosed()) {
+            pool.statementHit();
+            ps.clearParameters();
+            return ps;
+        }
+        pool.statementMiss();
+        ps = conn.prepareStatement(sql);
+        statements.put(sql, ps);
+        if (statements.size() > STATEMENT_CACHE_SIZE) {
+            Iterator<Map.Entry<String, PreparedStatement>> it = statements.entrySet().iterator();
+            PreparedStatement eldest = it.next().getValue();
+            it.remove();
+            pool.statementEvicted();
+            closeQuietly(eldest);
+        }
+        return ps;
+    }
+
+    /** 연결 자체에 문제가 있을 때 표시하면 반납 시 재사용하지 않고 닫는다 */
+    public void markBroken() { broken = true; }
+
+    boolean isBroken() { return broken; }
+    long lastUsedNanos() { return lastUsedNanos; }
+    void touch(long now) { lastUsedNanos = now; }
+    void markBorrowed() { borrowed = true; }
+
+    /** 캐시된 문장 모두 닫기 (연결 폐기/스키마 변경 시) */
+    void closeStatements() {
+        for (PreparedStatement ps : statements.values()) closeQuietly(ps);
+        statements.clear();
+    }
+
+    private static void closeQuietly(PreparedStatement ps) {
+        try { ps.close(); } catch (SQLException ignored) {}
+    }
+
+    /** 풀에 반납 (중복 호출 안전) */
+    @Override
+    public void close() {
+        if (!borrowed) return;
+        borrowed = false;
+        pool.release(this);
+    }
+}
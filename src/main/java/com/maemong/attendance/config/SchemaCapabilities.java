@@ -0,0 +1,58 @@
+package com.maemong.attendance.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * DB 파일별 스키마 기능(컬럼/인덱스) 캐시
+ * - 마이그레이션 직후 한 번만 조사하고, 이후 호출부는 PRAGMA 없이 메모리에서 확인
+ * - 스키마를 바꾸는 작업 뒤에는 SchemaMigrator 가 새로 조사해 교체
+ */
+public final class SchemaCapabilities {
+    private final Map<String, Set<String>> columnsByTable; // 테이블 → 소문자 컬럼명
+    private final Set<String> indexes;                     // 소문자 인덱스명
+
+    private SchemaCapabilities(Map<String, Set<String>> columnsByTable, Set<String> indexes) {
+        this.columnsByTable = columnsByTable;
+        this.indexes = indexes;
+    }
+
+    public boolean hasColumn(String table, String column) {
+        Set<String> cols = columnsByTable.get(table.toLowerCase());
+        return cols != null && cols.contains(column.toLowerCase());
+    }
+
+    public boolean hasIndex(String name) {
+        return indexes.contains(name.toLowerCase());
+    }
+
+    /** opt-in 정수 날짜/시각 컬럼(date_day, in_sec, out_day, out_sec) 백필까지 끝나 사용 가능한지 */
+    public boolean intTimeColumnsReady() {
+        return hasIndex(IntTimeColumns.READY_INDEX);
+    }
+
+    /** sqlite_master + PRAGMA table_info 로 현재 스키마 조사 */
+    static SchemaCapabilities probe(Connection c) throws SQLException {
+        Map<String, Set<String>> tables = new HashMap<>();
+        Set<String> indexes = new HashSet<>();
+        try (Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery(
+                     "SELECT type, name FROM sqlite_master WHERE type IN ('table','index')")) {
+            while (rs.next()) {
+                String name = rs.getString(2).toLowerCase();
+                if ("table".equals(rs.getString(1))) tables.put(name, null);
+                else indexes.add(name);
+            }
+        }
+        for (String table : tables.keySet()) {
+            tables.put(table, Set.copyOf(SchemaMigrator.columns(c, table)));
+        }
+        return new SchemaCapabilities(Map.copyOf(tables), Set.copyOf(indexes));
+    }
+}
@@ -0,0 +1,352 @@
+package com.maemong.attendance.config;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 버전 기반 스키마 마이그레이션
+ * - 진행 상황은 DB 파일의 PRAGMA user_version 에 기록
+ * - 프로세스당 DB 파일마다 한 번만 실행 (첫 물리 연결 생성 시, 이후 호출은 Set 조회 1회)
+ * - 단계마다 트랜잭션 1개: 실패하면 해당 단계만 롤백되고 다음 연결 생성 때 다시 시도
+ * - 새 스키마 변경은 MIGRATIONS 끝에 버전을 하나 올려 추가 (기존 단계 수정 금지)
+ */
+final class SchemaMigrator {
+
+    @FunctionalInterface
+    private interface Step {
+        void apply(Connection c) throws SQLException;
+    }
+
+    private record Migration(int version, String description, Step step) {}
+
+    private static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "employees 기본 스키마",                 SchemaMigrator::v1Employees),
+            new Migration(2, "attendance 기본 스키마 + 레거시 구조 이관", SchemaMigrator::v2Attendance),
+            new Migration(3, "attendance 조회 인덱스",                SchemaMigrator::v3AttendanceIndexes),
+            new Migration(4, "월/기간 조회용 커버링 인덱스",            SchemaMigrator::v4DateCoveringIndex),
+            new Migration(5, "일별 조회용 퇴근일 인덱스",              SchemaMigrator::v5OutDateIndex),
+            new Migration(6, "미퇴근 근무 부분 인덱스",                SchemaMigrator::v6OpenShiftIndex),
+            new Migration(7, "CSV 가져오기 체크포인트",                SchemaMigrator::v7ImportCheckpoint)
+    );
+
+    static final int LATEST_VERSION = MIGRATIONS.get(MIGRATIONS.size() - 1).version();
+
+    /** 마이그레이션이 끝난 DB 파일 경로 → 그 시점의 스키마 기능 */
+    private static final Map<String, SchemaCapabilities> MIGRATED = new ConcurrentHashMap<>();
+
+    private SchemaMigrator() {}
+
+    /** 이 프로세스에서 처음 보는 DB 파일이면 최신 버전까지 올린다 */
+    static void migrateOnce(String dbPath, Connection conn) throws SQLException {
+        if (MIGRATED.containsKey(dbPath)) return;
+        synchronized (SchemaMigrator.class) {
+            if (MIGRATED.containsKey(dbPath)) return;
+            migrate(conn);
+            boolean backfill = false;
+            if (IntTimeColumns.enabled()) { // opt-in 정수 컬럼: 컬럼/트리거는 지금, 기존 행은 백그라운드
+                IntTimeColumns.install(conn);
+                backfill = !IntTimeColumns.isReady(conn);
+                if (!backfill) IntTimeColumns.finish(conn); // 준비 이후 추가된 정수 인덱스 보강
+            }
+            MIGRATED.put(dbPath, SchemaCapabilities.probe(conn));
+            if (backfill) {
+                Thread t = new Thread(() -> IntTimeColumns.backfill(dbPath), "attendance-int-backfill");
+                t.setDaemon(true);
+                t.start();
+            }
+        }
+    }
+
+    /** 마이그레이션 외의 스키마 변경(정수 컬럼 백필 완료 등) 후 기능 캐시 다시 조사 */
+    static void refresh(String dbPath, Connection conn) throws SQLException {
+        MIGRATED.put(dbPath, SchemaCapabilities.probe(conn));
+    }
+
+    /** 마이그레이션 이후 캐시된 스키마 기능 (아직 연결을 연 적 없으면 null) */
+    static SchemaCapabilities capabilities(String dbPath) {
+        return MIGRATED.get(dbPath);
+    }
+
+    private static void migrate(Connection conn) throws SQLException {
+        int current = userVersion(conn);
+        if (current >= LATEST_VERSION) return; // 최신(또는 더 새로운 앱이 만든 DB)
+
+        // 테이블 재생성 단계가 있으므로 FK 검사는 잠시 끔 (트랜잭션 안에서는 변경 불가)
+        try (Statement st = conn.createStatement()) {
+            st.execute("PRAGMA foreign_keys=OFF;");
+        }
+        try {
+            for (Migration m : MIGRATIONS) {
+                if (m.version() <= current) continue;
+                conn.setAutoCommit(false);
+                try (Statement st = conn.createStatement()) {
+                    m.step().apply(conn);
+                    st.execute("PRAGMA user_version=" + m.version());
+                    conn.commit();
+                } catch (SQLException | RuntimeException e) {
+                    conn.rollback();
+                    throw new SQLException("스키마 마이그레이션 v" + m.version()
+                            + "(" + m.description() + ") 실패: " + e.getMessage(), e);
+                } finally {
+                    conn.setAutoCommit(true);
+                }
+            }
+        } finally {
+            try (Statement st = conn.createStatement()) {
+                st.execute("PRAGMA foreign_keys=ON;");
+            }
+        }
+    }
+
+    /* ===================== Migrations ===================== */
+
+    /** v1: employees 테이블 보장 + 누락 컬럼 추가 */
+    private static void v1Employees(Connection c) throws SQLException {
+        Set<String> cols = columns(c, "employees");
+        try (Statement st = c.createStatement()) {
+            if (cols.isEmpty()) {
+                st.executeUpdate("""
+                    CREATE TABLE employees(
+                      emp_no TEXT PRIMARY KEY,
+                      name   TEXT,
+                      position TEXT,
+                      rrn    TEXT,
+                      phone  TEXT,
+                      wage   INTEGER DEFAULT 0,
+                      bank   TEXT,
+                      account TEXT,
+                      address TEXT,
+                      contract_date TEXT,
+                      memo   TEXT
+                    )
+                    """);
+                return;
+            }
+            String[][] required = {
+                    {"name", "TEXT"}, {"position", "TEXT"}, {"rrn", "TEXT"}, {"phone", "TEXT"},
+                    {"wage", "INTEGER DEFAULT 0"}, {"bank", "TEXT"}, {"account", "TEXT"},
+                    {"address", "TEXT"}, {"contract_date", "TEXT"}, {"memo", "TEXT"}
+            };
+            for (String[] col : required) {
+                if (!cols.contains(col[0])) {
+                    st.executeUpdate("ALTER TABLE employees ADD COLUMN " + col[0] + " " + col[1]);
+                }
+            }
+            // 구버전(Database 생성) 컬럼명 → 현재 컬럼명 백필
+            if (!cols.contains("wage") && cols.contains("hourly_wage")) {
+                st.executeUpdate("UPDATE employees SET wage = hourly_wage WHERE hourly_wage IS NOT NULL");
+            }
+            if (!cols.contains("account") && cols.contains("account_no")) {
+                st.executeUpdate("UPDATE employees SET account = account_no");
+            }
+            if (!cols.contains("memo") && cols.contains("note")) {
+                st.executeUpdate("UPDATE employees SET memo = note");
+            }
+        }
+    }
+
+    /**
+     * v2: attendance 테이블 보장
+     * - 없으면 최신 구조로 생성
+     * - 레거시 구조(work_date/clock_in/clock_out, id 없음, UNIQUE(emp_no, work_date))면 재생성 + 데이터 이관
+     * - 그 외에는 누락 컬럼만 추가하고 emp_name/out_date 백필
+     */
+    private static void v2Attendance(Connection c) throws SQLException {
+        String ddl = tableSql(c, "attendance");
+        if (ddl == null) {
+            try (Statement st = c.createStatement()) {
+                st.executeUpdate(ATTENDANCE_DDL.formatted("attendance"));
+            }
+            return;
+        }
+
+        Set<String> cols = columns(c, "attendance");
+        boolean legacy = cols.contains("work_date") || !cols.contains("id")
+                || ddl.contains("UNIQUE(emp_no, work_date)");
+        if (legacy) {
+            rebuildLegacyAttendance(c, cols);
+            return;
+        }
+
+        try (Statement st = c.createStatement()) {
+            for (String col : new String[]{"date", "in_time", "out_time", "memo"}) {
+                if (!cols.contains(col)) {
+                    st.executeUpdate("ALTER TABLE attendance ADD COLUMN \"" + col + "\" TEXT");
+                }
+            }
+            if (!cols.contains("emp_name")) {
+                st.executeUpdate("ALTER TABLE attendance ADD COLUMN emp_name TEXT");
+                // ※ 별칭 사용 금지, 바깥 테이블은 'attendance'로 직접 참조
+                st.executeUpdate("""
+                    UPDATE attendance
+                    SET emp_name = (SELECT e.name FROM employees e WHERE e.emp_no = attendance.emp_no)
+                    WHERE emp_name IS NULL
+                    """);
+            }
+            if (!cols.contains("out_date")) {
+                st.executeUpdate("ALTER TABLE attendance ADD COLUMN \"out_date\" TEXT");
+                st.executeUpdate("UPDATE attendance SET \"out_date\" = " + OUT_DATE_GUESS
+                        .formatted("\"date\"", "in_time", "out_time") + " WHERE \"out_date\" IS NULL");
+            }
+        }
+    }
+
+    /** 레거시 attendance → 최신 구조로 재생성. 존재하는 컬럼만 참조 (SQLite는 없는 "컬럼"을 문자열로 취급) */
+    private static void rebuildLegacyAttendance(Connection c, Set<String> cols) throws SQLException {
+        String date    = coalesce(cols, "\"date\"", "date", "work_date");
+        String inTime  = coalesce(cols, "in_time", "in_time", "clock_in");
+        String outTime = coalesce(cols, "out_time", "out_time", "clock_out");
+        String memo    = cols.contains("memo") ? "memo" : "NULL";
+        String empName = cols.contains("emp_name")
+                ? "COALESCE(emp_name, (SELECT e.name FROM employees e WHERE e.emp_no = attendance.emp_no))"
+                : "(SELECT e.name FROM employees e WHERE e.emp_no = attendance.emp_no)";
+        String guess   = OUT_DATE_GUESS.formatted(date, inTime, outTime);
+        String outDate = cols.contains("out_date") ? "COALESCE(\"out_date\", " + guess + ")" : guess;
+        boolean keepId = cols.contains("id");
+
+        try (Statement st = c.createStatement()) {
+            st.executeUpdate("DROP TABLE IF EXISTS attendance_new");
+            st.executeUpdate(ATTENDANCE_DDL.formatted("attendance_new"));
+            st.executeUpdate(
+                    "INSERT INTO attendance_new (" + (keepId ? "id, " : "")
+                            + "emp_no, emp_name, \"date\", in_time, \"out_date\", out_time, memo) "
+                            + "SELECT " + (keepId ? "id, " : "")
+                            + "emp_no, " + empName + ", " + date + ", " + inTime + ", "
+                            + outDate + ", " + outTime + ", " + memo + " FROM attendance"
+                            + (keepId ? "" : " ORDER BY rowid"));
+            st.executeUpdate("DROP TABLE attendance");
+            st.executeUpdate("ALTER TABLE attendance_new RENAME TO attendance");
+        }
+    }
+
+    /** v3: 조회 인덱스 (사번+날짜, 날짜, 퇴근일, 이름) */
+    private static void v3AttendanceIndexes(Connection c) throws SQLException {
+        try (Statement st = c.createStatement()) {
+            st.executeUpdate("CREATE INDEX IF NOT EXISTS idx_att_emp_date ON attendance(emp_no, \"date\")");
+            st.executeUpdate("CREATE INDEX IF NOT EXISTS idx_att_date ON attendance(\"date\")");
+            st.executeUpdate("CREATE INDEX IF NOT EXISTS idx_att_out_date ON attendance(\"out_date\")");
+            st.executeUpdate("CREATE INDEX IF NOT EXISTS idx_att_emp_name ON attendance(emp_name)");
+        }
+    }
+
+    /**
+     * v4: 기간 조회용 커버링 인덱스
+     * - 키 순서가 ORDER BY "date", in_time, emp_no, id 와 같아 정렬 없이 순서대로 읽음
+     * - 조회 컬럼을 모두 포함해 테이블 본문 접근 없음
+     * - 앞부분이 같은 idx_att_date 는 중복이라 제거
+     */
+    private static void v4DateCoveringIndex(Connection c) throws SQLException {
+        try (Statement st = c.createStatement()) {
+            st.executeUpdate("""
+                CREATE INDEX IF NOT EXISTS idx_att_date_cover
+                ON attendance("date", in_time, emp_no, id, emp_name, "out_date", out_time, memo)
+                """);
+            st.executeUpdate("DROP INDEX IF EXISTS idx_att_date");
+        }
+    }
+
+    /**
+     * v5: 퇴근일 인덱스에 입근일을 덧붙임
+     * - 일별 조회 두 번째 갈래("out_date" = ? AND "date" IS NOT ?)의 제외 조건을 인덱스만으로 판정
+     *   (당일 입·퇴근 행마다 테이블을 읽지 않고 자정 넘김 행만 본문 조회)
+     */
+    private static void v5OutDateIndex(Connection c) throws SQLException {
+        try (Statement st = c.createStatement()) {
+            st.executeUpdate("DROP INDEX IF EXISTS idx_att_out_date");
+            st.executeUpdate("CREATE INDEX idx_att_out_date ON attendance(\"out_date\", \"date\")");
+        }
+    }
+
+    /**
+     * v6: 미퇴근(out_time IS NULL) 행만 담는 부분 인덱스
+     * - 퇴근 등록의 "사번별 가장 최근 미퇴근 1건" 조회가 인덱스 끝에서 한 번 탐색으로 끝남
+     * - 퇴근 처리된 행은 인덱스에서 빠지므로 크기는 근무 중 인원 수 수준으로 유지
+     */
+    private static void v6OpenShiftIndex(Connection c) throws SQLException {
+        try (Statement st = c.createStatement()) {
+            st.executeUpdate("""
+                CREATE INDEX IF NOT EXISTS idx_att_open_shift
+                ON attendance(emp_no, id) WHERE out_time IS NULL
+                """);
+        }
+    }
+
+    /**
+     * v7: CSV 가져오기 진행 위치
+     * - 청크 INSERT 와 같은 트랜잭션에서 갱신 → 중단 후 재개 시 중복/누락 없음
+     * - fingerprint(파일 크기+수정 시각)가 다르면 다른 파일로 보고 처음부터
+     */
+    private static void v7ImportCheckpoint(Connection c) throws SQLException {
+        try (Statement st = c.createStatement()) {
+            st.executeUpdate("""
+                CREATE TABLE IF NOT EXISTS import_checkpoint (
+                  source      TEXT PRIMARY KEY,     -- 가져오는 파일의 절대 경로
+                  fingerprint TEXT NOT NULL,
+                  rows_done   INTEGER NOT NULL,     -- 반영 완료한 데이터 레코드 수(헤더 제외)
+                  updated_at  TEXT NOT NULL DEFAULT (datetime('now','localtime'))
+                )
+                """);
+        }
+    }
+
+    /* ===================== DDL / helpers ===================== */
+
+    private static final String ATTENDANCE_DDL = """
+            CREATE TABLE %s (
+              id        INTEGER PRIMARY KEY AUTOINCREMENT,
+              emp_no    TEXT    NOT NULL,
+              emp_name  TEXT,
+              "date"    TEXT,              -- 입근일(YYYY-MM-DD)
+              in_time   TEXT,              -- HH:mm:ss
+              "out_date" TEXT,             -- 퇴근일(YYYY-MM-DD)
+              out_time  TEXT,              -- HH:mm:ss
+              memo      TEXT
+            )
+            """;
+
+    /** 퇴근일 추정: 퇴근 시각이 출근 시각보다 이르면 다음날 (인자: date, in_time, out_time 식) */
+    private static final String OUT_DATE_GUESS = """
+            CASE WHEN %3$s IS NOT NULL AND %2$s IS NOT NULL AND time(%3$s) < time(%2$s)
+                 THEN date(%1$s, '+1 day') ELSE %1$s END""";
+
+    /** 있는 컬럼만으로 COALESCE 식 생성 (하나도 없으면 NULL) */
+    private static String coalesce(Set<String> cols, String expr, String col, String legacyCol) {
+        List<String> parts = new ArrayList<>();
+        if (cols.contains(col)) parts.add(expr);
+        if (cols.contains(legacyCol)) parts.add(legacyCol);
+        if (parts.isEmpty()) return "NULL";
+        return parts.size() == 1 ? parts.get(0) : "COALESCE(" + String.join(", ", parts) + ")";
+    }
+
+    private static int userVersion(Connection c) throws SQLException {
+        try (Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static String tableSql(Connection c, String table) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(
+                "SELECT sql FROM sqlite_master WHERE type='table' AND name=?")) {
+            ps.setString(1, table);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    /** 소문자 컬럼명 집합 (테이블이 없으면 빈 집합) */
+    static Set<String> columns(Connection c, String table) throws SQLException {
+        Set<String> cols = new LinkedHashSet<>();
+        try (Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) cols.add(rs.getString("name").toLowerCase());
+        }
+        return cols;
+    }
+}
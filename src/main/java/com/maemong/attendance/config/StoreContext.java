@@ -10,10 +10,12 @@ public final class StoreContext {
 
     private StoreContext(){}
 
-    /** 프로그램 시작 시(또는 전환 시) 반드시 한 번 호출 */
+    /** 프로그램 시작 시(또는 전환 시) 반드시 한 번 호출. 다른 점포로 바뀌면 이전 점포의 연결 풀을 닫음 */
     public static void setStore(String name){
         if (name == null || name.isBlank()) name = "default";
+        String previous = dbPath(safeDir(storeName)).toString();
         storeName = name.trim();
+        if (!previous.equals(dbPath(safeDir(storeName)).toString())) Database.retire(previous);
     }
 
     /** 화면 표시용 원래 점포 이름 */
@@ -23,7 +25,11 @@ public final class StoreContext {
 
 	/** 파일 시스템 안전한 폴더명 생성 */
 	public static String getSafeStoreDir() {
-		String s = (getStoreName() == null ? "default" : getStoreName());
+		return safeDir(getStoreName());
+	}
+
+	private static String safeDir(String name) {
+		String s = (name == null ? "default" : name);
 		s = s.replaceAll("[^\\p{IsAlphabetic}\\p{IsDigit}\\uAC00-\\uD7A3 ._\\-]", "_").trim();
 		s = s.replace(' ', '_').replaceAll("_+", "_");
 		if (s.isEmpty()) s = "default";
@@ -31,16 +37,10 @@ public final class StoreContext {
 		return s;
 	}
 
-	/** 점포별 DB 파일 경로 (AppData/Maemong/AttendanceManager/stores/<점포>/db/attendance.db) */
+	/** 점포별 DB 파일 경로 (AppData/Maemong/AttendanceManager/stores/<점포>/db/attendance.db, 절대·정규화 경로 → 풀/캐시 키로 사용) */
 	public static String getDbFilePath() {
-		// AppData(Windows) 우선, 없으면 홈 디렉토리 사용
-		String appdata = System.getenv("APPDATA"); // 예: C:\Users\USER\AppData\Roaming
-		Path base = (appdata != null && !appdata.isBlank())
-				? Paths.get(appdata, "Maemong", "AttendanceManager")
-				: Paths.get(System.getProperty("user.home"), ".attendance-manager");
-
 		String safe = getSafeStoreDir(); // 이미 클래스에 있을 거예요 (없으면 아래 보조메서드 참고)
-		Path db = base.resolve(Paths.get("stores", safe, "db", "attendance.db"));
+		Path db = dbPath(safe);
 
 		// 상위 폴더 생성
 		try { Files.createDirectories(db.getParent()); } catch (Exception ignored) {}
@@ -57,4 +57,14 @@ public final class StoreContext {
 		return db.toString();
 	}
 
+	/** 폴더명 → DB 파일 경로 (파일 시스템은 건드리지 않음) */
+	private static Path dbPath(String safe) {
+		// AppData(Windows) 우선, 없으면 홈 디렉토리 사용
+		String appdata = System.getenv("APPDATA"); // 예: C:\Users\USER\AppData\Roaming
+		Path base = (appdata != null && !appdata.isBlank())
+				? Paths.get(appdata, "Maemong", "AttendanceManager")
+				: Paths.get(System.getProperty("user.home"), ".attendance-manager");
+		return base.resolve(Paths.get("stores", safe, "db", "attendance.db")).toAbsolutePath().normalize();
+	}
+
 }
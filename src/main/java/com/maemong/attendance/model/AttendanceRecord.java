@@ -26,6 +26,14 @@ public class AttendanceRecord implements Serializable {
 	private String outTime;    // HH:mm:ss or null
 	private String memo;       // 메모
 
+	/** 시각 없음/형식 오류 (getStartEpochSecond / getEndEpochSecond) */
+	public static final long NO_TIME = Long.MIN_VALUE;
+
+	// 출근/퇴근 시각을 epoch 초(로컬 시각을 UTC 로 본 값)로 한 번만 파싱해 둠. 시각 관련 setter 가 무효화
+	private transient boolean instantsResolved;
+	private transient long startSec;
+	private transient long endSec;
+
 	public AttendanceRecord() {}
 
 	/** 기존 시그니처(하위호환). outDate는 null로 두면 로직에서 date로 보정 */
@@ -77,16 +85,16 @@ public class AttendanceRecord implements Serializable {
 	public void setEmpName(String empName) { this.empName = empName; }
 
 	public String getDate() { return date; }
-	public void setDate(String date) { this.date = date; }
+	public void setDate(String date) { this.date = date; instantsResolved = false; }
 
 	public String getInTime() { return inTime; }
-	public void setInTime(String inTime) { this.inTime = inTime; }
+	public void setInTime(String inTime) { this.inTime = inTime; instantsResolved = false; }
 
 	public String getOutDate() { return outDate; }          // ★ 추가
-	public void setOutDate(String outDate) { this.outDate = outDate; } // ★ 추가
+	public void setOutDate(String outDate) { this.outDate = outDate; instantsResolved = false; } // ★ 추가
 
 	public String getOutTime() { return outTime; }
-	public void setOutTime(String outTime) { this.outTime = outTime; }
+	public void setOutTime(String outTime) { this.outTime = outTime; instantsResolved = false; }
 
 	public String getMemo() { return memo; }
 	public void setMemo(String memo) { this.memo = memo; }
@@ -99,18 +107,44 @@ public class AttendanceRecord implements Serializable {
 		return !Objects.equals(outDate, date);
 	}
 
-	/** 총 근무 분(출/퇴가 모두 있을 때만 계산) */
+	/**
+	 * 총 근무 분 (출/퇴가 모두 있을 때만 계산, 0 쪽으로 버림)
+	 * - 미리 파싱해 둔 epoch 초의 차이 → 호출마다 파싱/할당 없음
+	 * - 날짜/시각 형식이 틀린 기록은 0 (SQL 합계에서 빠지는 행과 같음)
+	 */
 	public long getWorkMinutes() {
-		if (inTime == null || outTime == null) return 0;
-		var in = java.time.LocalDateTime.of(
-				java.time.LocalDate.parse(date),
-				java.time.LocalTime.parse(inTime)
-		);
-		var out = java.time.LocalDateTime.of(
-				java.time.LocalDate.parse((outDate != null && !outDate.isBlank()) ? outDate : date),
-				java.time.LocalTime.parse(outTime)
-		);
-		return java.time.Duration.between(in, out).toMinutes();
+		resolveInstants();
+		if (startSec == NO_TIME || endSec == NO_TIME) return 0;
+		return (endSec - startSec) / 60;
+	}
+
+	/** 출근 시각 epoch 초 (입근일 + 출근시각). 없거나 형식 오류면 NO_TIME */
+	public long getStartEpochSecond() {
+		resolveInstants();
+		return startSec;
+	}
+
+	/** 퇴근 시각 epoch 초 (퇴근일(없으면 입근일) + 퇴근시각). 없거나 형식 오류면 NO_TIME */
+	public long getEndEpochSecond() {
+		resolveInstants();
+		return endSec;
+	}
+
+	/**
+	 * 날짜/시각 문자열 → epoch 초 (FixedTime 고정 폭 파서, 이미 했으면 그대로)
+	 * - 리포지토리가 행을 매핑할 때 한 번 호출 → 이후 근무 시간 계산은 정수 연산만
+	 */
+	public void resolveInstants() {
+		if (instantsResolved) return;
+		int day = FixedTime.epochDay(date);
+		int in = FixedTime.secondOfDay(inTime);
+		int outDay = (outDate != null && !outDate.isBlank()) ? FixedTime.epochDay(outDate) : day;
+		int out = FixedTime.secondOfDay(outTime);
+		startSec = (day == FixedTime.INVALID || in == FixedTime.INVALID)
+				? NO_TIME : (long) day * FixedTime.SECONDS_PER_DAY + in;
+		endSec = (outDay == FixedTime.INVALID || out == FixedTime.INVALID)
+				? NO_TIME : (long) outDay * FixedTime.SECONDS_PER_DAY + out;
+		instantsResolved = true;
 	}
 
 	@Override
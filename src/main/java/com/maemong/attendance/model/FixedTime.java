@@ -0,0 +1,64 @@
+package com.maemong.attendance.model;
+
+/**
+ * 고정 폭 날짜/시각 파서 (yyyy-MM-dd, HH:mm:ss) — 객체를 만들지 않고 정수로만
+ * - 범위까지 검사 (월/일/시/분/초, 윤년 포함) → LocalDate.parse / LocalTime.parse 와 같은 값만 통과
+ * - 형식이 틀리면 예외 대신 INVALID 반환 (조회/합계 중에는 던지지 않기 위해)
+ * - HH:mm (초 생략), HH:mm:ss.fff (소수 초는 버림, 소수점 뒤 숫자 1~9자리) 도 허용
+ *   · 소수점만 있는 HH:mm:ss. 는 거부 (JDK 21 LocalTime.parse 는 받아 주지만 정상 기록 형식이 아님)
+ */
+public final class FixedTime {
+
+	/** 형식 오류 */
+	public static final int INVALID = Integer.MIN_VALUE;
+
+	public static final int SECONDS_PER_DAY = 86_400;
+
+	private static final int[] MONTH_DAYS = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+	private FixedTime() {}
+
+	/** yyyy-MM-dd → epoch day (1970-01-01 = 0). 형식 오류면 INVALID */
+	public static int epochDay(String ymd) {
+		if (ymd == null || ymd.length() != 10 || ymd.charAt(4) != '-' || ymd.charAt(7) != '-') return INVALID;
+		int y = digits(ymd, 0, 4), m = digits(ymd, 5, 2), d = digits(ymd, 8, 2);
+		if (y < 0 || m < 1 || m > 12 || d < 1) return INVALID;
+		boolean leap = (y & 3) == 0 && (y % 100 != 0 || y % 400 == 0);
+		if (d > (m == 2 && leap ? 29 : MONTH_DAYS[m - 1])) return INVALID;
+		// days-from-civil (3월 시작 연도)
+		int yy = m <= 2 ? y - 1 : y;
+		int era = Math.floorDiv(yy, 400);
+		int yoe = yy - era * 400;
+		int doy = (153 * (m + (m > 2 ? -3 : 9)) + 2) / 5 + d - 1;
+		int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+		return era * 146_097 + doe - 719_468;
+	}
+
+	/** HH:mm:ss (또는 HH:mm, HH:mm:ss.fff) → 0시부터의 초. 형식 오류면 INVALID */
+	public static int secondOfDay(String hms) {
+		if (hms == null) return INVALID;
+		int len = hms.length();
+		if (len != 5 && len < 8 || hms.charAt(2) != ':') return INVALID;
+		int h = digits(hms, 0, 2), m = digits(hms, 3, 2), s = 0;
+		if (len >= 8) {
+			if (hms.charAt(5) != ':') return INVALID;
+			s = digits(hms, 6, 2);
+			if (len > 8) {
+				if (hms.charAt(8) != '.' || len < 10 || len > 18 || digits(hms, 9, len - 9) < 0) return INVALID;
+			}
+		}
+		if (h < 0 || h > 23 || m < 0 || m > 59 || s < 0 || s > 59) return INVALID;
+		return h * 3_600 + m * 60 + s;
+	}
+
+	/** 고정 위치 숫자 (숫자가 아니면 -1) */
+	private static int digits(String s, int from, int len) {
+		int v = 0;
+		for (int i = from; i < from + len; i++) {
+			int c = s.charAt(i) - '0';
+			if (c < 0 || c > 9) return -1;
+			v = v * 10 + c;
+		}
+		return v;
+	}
+}
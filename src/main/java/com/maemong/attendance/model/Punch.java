@@ -0,0 +1,22 @@
+package com.maemong.attendance.model;
+
+/**
+ * 출/퇴근 타각 1건 (일괄 등록 입력)
+ * - type    : IN(출근) / OUT(퇴근)
+ * - empNo   : 사번(필수)
+ * - date    : yyyy-MM-dd (출근=입근일, 퇴근=퇴근일). 비어있으면 서비스에서 오늘로 보정
+ * - time    : HH:mm 또는 HH:mm:ss. 비어있으면 서비스에서 현재 시각으로 보정
+ * - memo    : 메모(출근에만 저장)
+ */
+public record Punch(Type type, String empNo, String date, String time, String memo) {
+
+	public enum Type { IN, OUT }
+
+	public static Punch in(String empNo, String date, String time, String memo) {
+		return new Punch(Type.IN, empNo, date, time, memo);
+	}
+
+	public static Punch out(String empNo, String date, String time) {
+		return new Punch(Type.OUT, empNo, date, time, null);
+	}
+}
@@ -0,0 +1,17 @@
+package com.maemong.attendance.model;
+
+/**
+ * 일괄 타각 항목별 처리 결과 (입력 순서의 index 유지)
+ * - punch   : 검증/보정 후 실제 반영한 값 (INVALID면 입력 원본)
+ * - message : 실패 사유 (OK면 null)
+ */
+public record PunchResult(int index, Punch punch, Status status, String message) {
+
+	public enum Status {
+		OK,             // 반영됨
+		INVALID,        // 검증 실패로 건너뜀
+		NO_OPEN_SHIFT   // 퇴근: 해당 사번의 미퇴근 기록 없음
+	}
+
+	public boolean isOk() { return status == Status.OK; }
+}
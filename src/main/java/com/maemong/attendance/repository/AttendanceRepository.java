@@ -1,251 +1,682 @@
 package com.maemong.attendance.repository;
 
 import com.maemong.attendance.model.AttendanceRecord;
+import com.maemong.attendance.model.Punch;
 import com.maemong.attendance.config.Database;
+import com.maemong.attendance.config.PooledConnection;
 
 import java.sql.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class AttendanceRepository {
 
-	public AttendanceRepository() {
-		try {
-			createTableIfNotExists();
-			migrateAddDateIfMissing();     // ★ 1단계: date 보장
-			migrateAddEmpNameIfMissing();   // ★ 추가
-			migrateAddOutDateIfMissing();  // ★ 2단계: out_date 보장
-			createIndexesIfColumnsExist(); // ★ 3단계: 인덱스는 컬럼 있을 때만
-		} catch (SQLException e) {
-			throw new RuntimeException("attendance 테이블 초기화 실패: " + e.getMessage(), e);
-		}
+	/* ===================== Schema ===================== */
+	// 테이블/컬럼/인덱스 보장은 config.SchemaMigrator 가 DB 파일당 1회 수행
+
+	// ✅ 스키마 컬럼명과 일치시키기: "date"
+	private static final String INSERT_IN_SQL =
+			"INSERT INTO attendance (emp_no, \"date\", in_time, memo) VALUES (?, ?, ?, ?)";
+
+	private static final String INSERT_FULL_SQL = """
+            INSERT INTO attendance (emp_no, emp_name, "date", in_time, "out_date", out_time, memo)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+	/** 사번별 가장 최근 미퇴근 1건 (idx_att_open_shift 탐색) */
+	private static final String LATEST_OPEN_ID =
+			"(SELECT id FROM attendance WHERE emp_no=? AND out_time IS NULL ORDER BY id DESC LIMIT 1)";
+	private static final String CLOSE_OPEN_SQL =
+			"UPDATE attendance SET out_time=?, out_date=? WHERE id = " + LATEST_OPEN_ID;
+	private static final String CLOSE_OPEN_NO_OUT_DATE_SQL =
+			"UPDATE attendance SET out_time=? WHERE id = " + LATEST_OPEN_ID;
+
+	// Repository의 공개 API — Service는 이걸 호출해야 함
+	public void clockIn(String empNo, String workDate, String inTime, String memo) throws java.sql.SQLException {
+		insertIn(empNo, workDate, inTime, memo);  // private 메서드 위임
 	}
 
-	// AttendanceRepository.java 내부
-	private void migrateAddEmpNameIfMissing() {
-		try (java.sql.Connection conn = com.maemong.attendance.config.Database.getConnection();
-		     java.sql.Statement st = conn.createStatement()) {
+	/**
+	 * 가장 최근 미퇴근 1건에 퇴근 시간/날짜 채우기
+	 * - 대상 행은 idx_att_open_shift(emp_no, id) WHERE out_time IS NULL 에서 한 번 탐색
+	 * - 컬럼 확인은 스키마 기능 캐시로 (호출마다 PRAGMA 없음)
+	 */
+	public void clockOut(String empNo, String outDate, String outTime) throws java.sql.SQLException {
+		try (PooledConnection pc = Database.borrow()) {
+			boolean hasOutDate = Database.capabilities().hasColumn("attendance", "out_date");
+			java.sql.PreparedStatement ps = pc.prepare(hasOutDate ? CLOSE_OPEN_SQL : CLOSE_OPEN_NO_OUT_DATE_SQL);
+			bindClose(ps, hasOutDate, empNo, outDate, outTime);
+			ps.executeUpdate();
+		}
+	}
 
-			// emp_name 컬럼 존재 여부 확인
-			boolean exists = false;
-			try (java.sql.ResultSet rs = st.executeQuery("PRAGMA table_info(attendance)")) {
-				while (rs.next()) {
-					if ("emp_name".equalsIgnoreCase(rs.getString("name"))) {
-						exists = true;
-						break;
+	/**
+	 * 출/퇴근 일괄 반영 (한 트랜잭션)
+	 * - 입력 순서를 지키면서, 같은 종류가 연속된 구간만 JDBC 배치로 묶어 실행
+	 *   (퇴근은 "가장 최근 미퇴근 1건" 갱신이라 앞선 출근이 먼저 반영돼 있어야 함)
+	 * - 값 검증/보정은 호출부(Service) 책임
+	 * - 반환: 항목별 반영 행 수 (출근 1, 퇴근 1 또는 0=미퇴근 기록 없음)
+	 * - DB 오류가 하나라도 나면 전체 롤백 후 예외
+	 */
+	public int[] applyPunches(List<Punch> punches) throws SQLException {
+		int[] counts = new int[punches.size()];
+		if (punches.isEmpty()) return counts;
+
+		try (PooledConnection pc = Database.borrow()) {
+			Connection conn = pc.connection();
+			boolean hasOutDate = Database.capabilities().hasColumn("attendance", "out_date");
+			PreparedStatement in = pc.prepare(INSERT_IN_SQL);
+			PreparedStatement out = pc.prepare(hasOutDate ? CLOSE_OPEN_SQL : CLOSE_OPEN_NO_OUT_DATE_SQL);
+
+			conn.setAutoCommit(false);
+			try {
+				int start = 0;
+				while (start < punches.size()) {
+					Punch.Type type = punches.get(start).type();
+					PreparedStatement ps = (type == Punch.Type.IN) ? in : out;
+					int end = start;
+					for (; end < punches.size() && punches.get(end).type() == type; end++) {
+						Punch p = punches.get(end);
+						if (type == Punch.Type.IN) bindIn(ps, p.empNo(), p.date(), p.time(), p.memo());
+						else bindClose(ps, hasOutDate, p.empNo(), p.date(), p.time());
+						ps.addBatch();
 					}
+					int[] run = ps.executeBatch();
+					System.arraycopy(run, 0, counts, start, run.length);
+					start = end;
 				}
+				conn.commit();
+			} catch (SQLException | RuntimeException e) {
+				in.clearBatch();
+				out.clearBatch();
+				try { conn.rollback(); } catch (SQLException ignore) {}
+				throw e;
+			} finally {
+				conn.setAutoCommit(true);
 			}
+		}
+		return counts;
+	}
 
-			if (!exists) {
-				// 1) 컬럼 추가
-				st.executeUpdate("ALTER TABLE attendance ADD COLUMN emp_name TEXT");
-
-				// 2) employees에서 이름 백필
-				//    ※ 별칭 사용 금지, 바깥 테이블은 'attendance'로 직접 참조
-				st.executeUpdate(
-						"UPDATE attendance " +
-								"SET emp_name = (" +
-								"  SELECT e.name FROM employees e " +
-								"  WHERE e.emp_no = attendance.emp_no" +
-								") " +
-								"WHERE emp_name IS NULL"
-				);
-
-				// 3) 선택: 인덱스
-				st.executeUpdate("CREATE INDEX IF NOT EXISTS idx_att_emp_name ON attendance(emp_name)");
-			}
+	private static void bindIn(PreparedStatement ps, String empNo, String workDate, String inTime, String memo) throws SQLException {
+		ps.setString(1, empNo);
+		ps.setString(2, workDate);  // YYYY-MM-DD
+		ps.setString(3, inTime);    // HH:mm:ss
+		ps.setString(4, memo);
+	}
+
+	private static void bindClose(PreparedStatement ps, boolean hasOutDate, String empNo, String outDate, String outTime) throws SQLException {
+		int i = 1;
+		ps.setString(i++, outTime);
+		if (hasOutDate) ps.setString(i++, outDate);
+		ps.setString(i, empNo);
+	}
+
+	/* ===================== CRUD / Queries ===================== */
+
+	/** 월별(입근일 기준) 조회: YYYY-MM → ["YYYY-MM-01", 다음달 1일) 범위 스캔 */
+	public List<AttendanceRecord> findByMonth(String ym) throws SQLException {
+		YearMonth m = YearMonth.parse(ym);
+		return findByRange(m.atDay(1).toString(), m.plusMonths(1).atDay(1).toString());
+	}
 
-		} catch (Exception ex) {
-			ex.printStackTrace(); // 마이그레이션 실패해도 앱 중단 X
+	/**
+	 * 기간(입근일 기준) 조회: fromInclusive <= "date" < toExclusive (yyyy-MM-dd)
+	 * idx_att_date_cover 로 범위 탐색 + ORDER BY 정렬까지 인덱스 순서로 처리 (테이블 접근/임시 정렬 없음)
+	 * 정수 컬럼(opt-in)이 준비된 DB면 idx_att_day 로 epoch day 정수 비교
+	 */
+	public List<AttendanceRecord> findByRange(String fromInclusive, String toExclusive) throws SQLException {
+		return list(rangeQuery(fromInclusive, toExclusive));
+	}
+
+	private Query rangeQuery(String fromInclusive, String toExclusive) throws SQLException {
+		if (intColumnsReady()) {
+			return new Query("""
+            SELECT id, emp_no, emp_name, "date", in_time, "out_date", out_time, memo
+            FROM attendance
+            WHERE date_day >= ? AND date_day < ?
+            ORDER BY date_day ASC, in_sec ASC, emp_no ASC, id ASC
+            """, epochDay(fromInclusive), epochDay(toExclusive));
 		}
+		return new Query("""
+            SELECT id, emp_no, emp_name, "date", in_time, "out_date", out_time, memo
+            FROM attendance
+            WHERE "date" >= ? AND "date" < ?
+            ORDER BY "date" ASC, in_time ASC, emp_no ASC, id ASC
+            """, fromInclusive, toExclusive);
 	}
 
-	/* ===================== Schema ===================== */
+	/**
+	 * 일별 조회: 지정일이 입근일이거나 퇴근일인 건을 모두 반환
+	 * - OR 조건은 SQLite가 전체 스캔으로 풀 때가 많아 UNION ALL 두 갈래로 분리
+	 *   · 1) "date" = ?                        → idx_att_date_cover 탐색
+	 *   · 2) "out_date" = ? AND "date" IS NOT ? → idx_att_out_date 탐색 (1과 겹치는 행은 여기서 제외)
+	 * - 두 갈래가 서로 겹치지 않으므로 DISTINCT 없이 기존 OR 결과와 동일 (자정 넘김 근무 포함)
+	 */
+	public List<AttendanceRecord> findByDate(String ymd) throws SQLException {
+		return list("""
+            SELECT id, emp_no, emp_name, "date", in_time, "out_date", out_time, memo
+            FROM attendance
+            WHERE "date" = ?
+            UNION ALL
+            SELECT id, emp_no, emp_name, "date", in_time, "out_date", out_time, memo
+            FROM attendance
+            WHERE "out_date" = ? AND "date" IS NOT ?
+            ORDER BY "date" ASC, in_time ASC, emp_no ASC, id ASC
+            """, ymd, ymd, ymd);
+	}
 
-	private void createTableIfNotExists() throws SQLException {
-		// 최신 스키마 정의(있으면 그대로 유지)
-		String sql = """
-            CREATE TABLE IF NOT EXISTS attendance (
-              id        INTEGER PRIMARY KEY AUTOINCREMENT,
-              emp_no    TEXT    NOT NULL,
-              emp_name  TEXT,
-              "date"    TEXT,              -- 입근일(YYYY-MM-DD)
-              in_time   TEXT,              -- HH:mm:ss
-              "out_date" TEXT,             -- 퇴근일(YYYY-MM-DD)
-              out_time  TEXT,              -- HH:mm:ss
-              memo      TEXT
-            );
-            """;
-		try (Connection c = Database.getConnection();
-		     Statement st = c.createStatement()) {
-			st.execute(sql);
+	/* ----- 사번 지정 조회: idx_att_emp_date(emp_no, "date") / 정수 경로는 idx_att_emp_day(emp_no, date_day, in_sec, id) 탐색 → 해당 직원 행 수에만 비례 ----- */
+
+	/** 사번 + 월별(입근일 기준) 조회: YYYY-MM */
+	public List<AttendanceRecord> findByEmpAndMonth(String empNo, String ym) throws SQLException {
+		YearMonth m = YearMonth.parse(ym);
+		return findByEmpAndRange(empNo, m.atDay(1).toString(), m.plusMonths(1).atDay(1).toString());
+	}
+
+	/** 사번 + 기간(입근일 기준) 조회: fromInclusive <= "date" < toExclusive */
+	public List<AttendanceRecord> findByEmpAndRange(String empNo, String fromInclusive, String toExclusive) throws SQLException {
+		return list(empRangeQuery(empNo, fromInclusive, toExclusive));
+	}
+
+	private Query empRangeQuery(String empNo, String fromInclusive, String toExclusive) throws SQLException {
+		if (intColumnsReady()) {
+			return new Query("""
+            SELECT id, emp_no, emp_name, "date", in_time, "out_date", out_time, memo
+            FROM attendance
+            WHERE emp_no = ? AND date_day >= ? AND date_day < ?
+            ORDER BY date_day ASC, in_sec ASC, emp_no ASC, id ASC
+            """, empNo, epochDay(fromInclusive), epochDay(toExclusive));
 		}
+		return new Query("""
+            SELECT id, emp_no, emp_name, "date", in_time, "out_date", out_time, memo
+            FROM attendance
+            WHERE emp_no = ? AND "date" >= ? AND "date" < ?
+            ORDER BY "date" ASC, in_time ASC, emp_no ASC, id ASC
+            """, empNo, fromInclusive, toExclusive);
 	}
 
-	/** PRAGMA로 컬럼 목록 조회 */
-	// AttendanceRepository.java 내부
+	/** 사번 + 일별 조회: findByDate 와 같은 두 갈래 구성 */
+	public List<AttendanceRecord> findByEmpAndDate(String empNo, String ymd) throws SQLException {
+		return list("""
+            SELECT id, emp_no, emp_name, "date", in_time, "out_date", out_time, memo
+            FROM attendance
+            WHERE emp_no = ? AND "date" = ?
+            UNION ALL
+            SELECT id, emp_no, emp_name, "date", in_time, "out_date", out_time, memo
+            FROM attendance
+            WHERE "out_date" = ? AND "date" IS NOT ? AND emp_no = ?
+            ORDER BY "date" ASC, in_time ASC, emp_no ASC, id ASC
+            """, empNo, ymd, ymd, ymd, empNo);
+	}
 
-	// 컬럼 존재 여부 유틸(중복 없으면 추가)
-	private boolean hasColumn(java.sql.Connection conn, String table, String column) throws java.sql.SQLException {
-		try (java.sql.PreparedStatement ps = conn.prepareStatement("PRAGMA table_info(" + table + ")");
-		     java.sql.ResultSet rs = ps.executeQuery()) {
-			while (rs.next()) {
-				if (column.equalsIgnoreCase(rs.getString("name"))) return true;
-			}
+	/* ----- 페이지 조회: keyset 방식 ("date", in_time, emp_no, id) → N번째 페이지도 첫 페이지와 같은 비용 ----- */
+
+	/** 페이지 경계 키 (정렬 컬럼 값). date/inTime 은 null 가능 (NULL은 가장 앞) */
+	public record PageKey(String date, String inTime, String empNo, long id) {
+		public static PageKey of(AttendanceRecord r) {
+			return new PageKey(r.getDate(), r.getInTime(), r.getEmpNo(), r.getId() == null ? 0L : r.getId());
 		}
-		return false;
 	}
 
-	// AttendanceRepository.java 내부에 추가
-	private boolean hasColumn(String table, String column) throws java.sql.SQLException {
-		try (java.sql.Connection conn = com.maemong.attendance.config.Database.getConnection()) {
-			return hasColumn(conn, table, column); // 3-인자 버전으로 위임
+	/**
+	 * 페이지 조회 조건 (조회 탭의 월별/일별/전체 + 사번 + 검색어)
+	 * - from/to : 입근일 범위 [from, to). null 이면 그쪽 제한 없음
+	 * - day     : 지정일 (입근일 또는 퇴근일, findByDate 와 같은 규칙). 있으면 from/to 무시
+	 * - empNo   : 사번 (null 이면 전체)
+	 * - text    : 검색어 (사번/이름/날짜/출근/퇴근/메모 부분 일치, 영문 대소문자 무시. null 이면 없음)
+	 *             대소문자 규칙은 {@link #fold(String)} — 화면의 메모리 검색도 같은 규칙을 씀
+	 */
+	public record Scope(String from, String to, String day, String empNo, String text) {
+		public static final Scope ALL = new Scope(null, null, null, null, null);
+
+		public static Scope month(String ym, String empNo) {
+			YearMonth m = YearMonth.parse(ym);
+			return new Scope(m.atDay(1).toString(), m.plusMonths(1).atDay(1).toString(), null, empNo, null);
+		}
+
+		public static Scope day(String ymd, String empNo) {
+			return new Scope(null, null, ymd, empNo, null);
+		}
+
+		public Scope withText(String q) {
+			return new Scope(from, to, day, empNo, (q == null || q.isBlank()) ? null : q);
+		}
+
+		/**
+		 * 검색용 대소문자 접기: ASCII A~Z 만 소문자로 (SQLite lower() 와 같은 규칙)
+		 * - 전각/악센트 문자 등은 그대로 → SQL 검색과 메모리 검색 결과가 항상 같음
+		 */
+		public static String fold(String s) {
+			int i = 0, n = s.length();
+			while (i < n && (s.charAt(i) < 'A' || s.charAt(i) > 'Z')) i++;
+			if (i == n) return s;
+			char[] c = s.toCharArray();
+			for (; i < n; i++) {
+				if (c[i] >= 'A' && c[i] <= 'Z') c[i] += 'a' - 'A';
+			}
+			return new String(c);
 		}
 	}
 
-	// Repository의 공개 API — Service는 이걸 호출해야 함
-	public void clockIn(String empNo, String workDate, String inTime, String memo) throws java.sql.SQLException {
-		insertIn(empNo, workDate, inTime, memo);  // private 메서드 위임
+	/**
+	 * 한 페이지 행 + 행별 중복 표시 (같은 사번/입근일 기록이 테이블에 2건 이상)
+	 * - duplicate 는 SQL 에서 행마다 EXISTS 로 계산 (idx_att_emp_date) → 페이지 경계/검색 조건과 무관하게 정확
+	 */
+	public record Page(List<AttendanceRecord> rows, boolean[] duplicate) {
+		public static final Page EMPTY = new Page(List.of(), new boolean[0]);
+		public boolean isEmpty() { return rows.isEmpty(); }
+		public int size() { return rows.size(); }
 	}
 
-	public void clockOut(String empNo, String outDate, String outTime) throws java.sql.SQLException {
-		// 가장 최근 미퇴근 1건에 퇴근 시간/날짜 채우기
-		try (java.sql.Connection conn = com.maemong.attendance.config.Database.getConnection()) {
-			boolean hasOutDate = hasColumn(conn, "attendance", "out_date");
-			if (hasOutDate) {
-				try (java.sql.PreparedStatement ps = conn.prepareStatement(
-						"UPDATE attendance SET out_time=?, out_date=? " +
-								"WHERE id = (SELECT id FROM attendance WHERE emp_no=? AND out_time IS NULL ORDER BY id DESC LIMIT 1)"
-				)) {
-					ps.setString(1, outTime);
-					ps.setString(2, outDate);
-					ps.setString(3, empNo);
-					ps.executeUpdate();
-				}
-			} else {
-				try (java.sql.PreparedStatement ps = conn.prepareStatement(
-						"UPDATE attendance SET out_time=? " +
-								"WHERE id = (SELECT id FROM attendance WHERE emp_no=? AND out_time IS NULL ORDER BY id DESC LIMIT 1)"
-				)) {
-					ps.setString(1, outTime);
-					ps.setString(2, empNo);
-					ps.executeUpdate();
-				}
-			}
+	/** 조건에 맞는 행 수 (검색어가 없으면 인덱스 범위만 셈) */
+	public int count(Scope s) throws SQLException {
+		List<Object> params = new ArrayList<>();
+		List<String> where = new ArrayList<>();
+		String sql = "SELECT count(*) " + scopeFrom(s, params, where) + whereClause(where);
+		try (PooledConnection pc = Database.borrow();
+		     ResultSet rs = new Query(sql, params.toArray()).prepare(pc).executeQuery()) {
+			return rs.next() ? rs.getInt(1) : 0;
 		}
 	}
 
-	/** 구버전 DB에서 "date" 컬럼이 없으면 추가 */
-	private void migrateAddDateIfMissing() throws SQLException {
-		if (!hasColumn("attendance", "date")) {
-			try (Connection c = Database.getConnection();
-			     Statement st = c.createStatement()) {
-				st.execute("ALTER TABLE attendance ADD COLUMN \"date\" TEXT;");
-				// 적절한 초기화가 필요하면 여기에 UPDATE 추가 (알 수 없으면 NULL 유지)
+	/**
+	 * 키 다음 행부터 limit 건 (오름차순). after == null 이면 처음부터
+	 * - "date" >= ? 범위로 idx_att_date_cover 에 바로 진입 → 같은 날의 앞선 행만 건너뛰고 LIMIT 에서 멈춤
+	 * - NULL 은 가장 작은 값으로 취급 (ORDER BY 의 NULL 우선과 동일)
+	 */
+	public List<AttendanceRecord> findPageAfter(PageKey after, int limit) throws SQLException {
+		return findPageAfter(Scope.ALL, after, limit).rows();
+	}
+
+	/** 키 바로 앞 limit 건 (반환은 오름차순). before == null 이면 마지막 페이지 */
+	public List<AttendanceRecord> findPageBefore(PageKey before, int limit) throws SQLException {
+		return findPageBefore(Scope.ALL, before, limit).rows();
+	}
+
+	/** 조건 안에서 키 다음 limit 건 */
+	public Page findPageAfter(Scope s, PageKey after, int limit) throws SQLException {
+		return page(pageQuery(s, after, true, DUP_COLUMN, " LIMIT ?", limit), limit, false);
+	}
+
+	/** 조건 안에서 키 바로 앞 limit 건 (반환은 오름차순) */
+	public Page findPageBefore(Scope s, PageKey before, int limit) throws SQLException {
+		return page(pageQuery(s, before, false, DUP_COLUMN, " LIMIT ?", limit), limit, true);
+	}
+
+	/**
+	 * 조건 안에서 offset 번째 행부터 limit 건 (오름차순)
+	 * - OFFSET 은 앞 행을 하나씩 세며 건너뛰므로 offset 에 비례 → 이웃 페이지 키가 없을 때(스크롤바로 건너뛰기)만
+	 */
+	public Page findPageAt(Scope s, int offset, int limit) throws SQLException {
+		return page(pageQuery(s, null, true, DUP_COLUMN, " LIMIT ? OFFSET ?", limit, offset), limit, false);
+	}
+
+	/** id 목록의 기록 (검색 결과 페이지). 페이지 조회와 같은 순서 + 중복 표시 */
+	public Page findByIds(long[] ids) throws SQLException {
+		if (ids.length == 0) return Page.EMPTY;
+		Object[] params = new Object[ids.length];
+		for (int i = 0; i < ids.length; i++) params[i] = ids[i];
+		String sql = "SELECT id, emp_no, emp_name, \"date\", in_time, \"out_date\", out_time, memo" + DUP_COLUMN
+				+ " FROM attendance a WHERE id IN (" + "?,".repeat(ids.length - 1) + "?)" + ORDER_ASC;
+		return page(new Query(sql, params), ids.length, false);
+	}
+
+	/** 조건 전체를 같은 순서로 행마다 콜백 (목록을 만들지 않음) */
+	public long forEach(Scope s, RowVisitor visitor) throws SQLException {
+		return forEach(pageQuery(s, null, true, "", ""), visitor);
+	}
+
+	/** 같은 사번/입근일의 다른 기록이 있는지 (바깥 행 별칭 a) */
+	private static final String DUP_COLUMN = """
+            , EXISTS (SELECT 1 FROM attendance d
+                      WHERE d.emp_no = a.emp_no AND d."date" = a."date" AND d.id <> a.id) AS dup""";
+
+	/** 페이지 결과(최대 limit 행) → 행 목록 + 중복 표시 배열 (reverse: 내림차순으로 읽은 결과를 오름차순으로) */
+	private Page page(Query q, int limit, boolean reverse) throws SQLException {
+		List<AttendanceRecord> rows = new ArrayList<>(limit);
+		boolean[] dup = new boolean[limit];
+		try (PooledConnection pc = Database.borrow();
+		     ResultSet rs = q.prepare(pc).executeQuery()) {
+			while (rs.next()) {
+				dup[rows.size()] = rs.getBoolean("dup");
+				rows.add(map(rs));
 			}
 		}
+		int n = rows.size();
+		if (n == 0) return Page.EMPTY;
+		if (reverse) {
+			java.util.Collections.reverse(rows);
+			for (int i = 0, j = n - 1; i < j; i++, j--) { boolean t = dup[i]; dup[i] = dup[j]; dup[j] = t; }
+		}
+		return new Page(List.copyOf(rows), n == limit ? dup : java.util.Arrays.copyOf(dup, n));
 	}
 
-	/** "out_date" 컬럼이 없으면 추가 + 합리적 기본값 보정 */
-	private void migrateAddOutDateIfMissing() throws SQLException {
-		if (!hasColumn("attendance", "out_date")) {
-			try (Connection c = Database.getConnection();
-			     Statement st = c.createStatement()) {
-				st.execute("ALTER TABLE attendance ADD COLUMN \"out_date\" TEXT;");
-				// date가 있을 때만 보정. 함수/컬럼 충돌을 피하려고 "date"로 감쌈
-				st.execute("""
-                    UPDATE attendance
-                    SET "out_date" = CASE
-                        WHEN out_time IS NOT NULL AND in_time IS NOT NULL
-                             AND time(out_time) < time(in_time)
-                             THEN date("date", '+1 day')
-                        ELSE "date"
-                    END
-                    WHERE "out_date" IS NULL
-                """);
-			}
+	private static final String ORDER_ASC  = " ORDER BY \"date\" ASC, in_time ASC, emp_no ASC, id ASC";
+	private static final String ORDER_DESC = " ORDER BY \"date\" DESC, in_time DESC, emp_no DESC, id DESC";
+
+	private static Query pageQuery(Scope s, PageKey key, boolean after, String extraColumns,
+	                               String tail, Object... tailParams) {
+		List<Object> params = new ArrayList<>();
+		List<String> where = new ArrayList<>();
+		String from = scopeFrom(s, params, where);
+		if (key != null) where.add(seek(key, after, params));
+		params.addAll(List.of(tailParams));
+		return new Query("SELECT id, emp_no, emp_name, \"date\", in_time, \"out_date\", out_time, memo"
+				+ extraColumns + " " + from + whereClause(where) + (after ? ORDER_ASC : ORDER_DESC) + tail, params.toArray());
+	}
+
+	/**
+	 * 조건 → FROM 절, 행 별칭 a (WHERE 조건은 where 목록에 추가)
+	 * - 일별은 findByDate 와 같은 UNION ALL 두 갈래를 서브쿼리로 두고 keyset/검색 조건은 바깥에
+	 * - 기간/사번은 idx_att_date_cover / idx_att_emp_date 범위 탐색
+	 */
+	private static String scopeFrom(Scope s, List<Object> params, List<String> where) {
+		String from;
+		if (s.day() != null) {
+			String emp = s.empNo() != null ? " AND emp_no = ?" : "";
+			from = """
+                FROM (SELECT id, emp_no, emp_name, "date", in_time, "out_date", out_time, memo
+                      FROM attendance WHERE "date" = ?%1$s
+                      UNION ALL
+                      SELECT id, emp_no, emp_name, "date", in_time, "out_date", out_time, memo
+                      FROM attendance WHERE "out_date" = ? AND "date" IS NOT ?%1$s) a""".formatted(emp);
+			params.add(s.day());
+			if (s.empNo() != null) params.add(s.empNo());
+			params.add(s.day());
+			params.add(s.day());
+			if (s.empNo() != null) params.add(s.empNo());
+		} else {
+			from = "FROM attendance a";
+			if (s.empNo() != null) { where.add("emp_no = ?"); params.add(s.empNo()); }
+			if (s.from() != null) { where.add("\"date\" >= ?"); params.add(s.from()); }
+			if (s.to() != null) { where.add("\"date\" < ?"); params.add(s.to()); }
 		}
+		if (s.text() != null) {
+			// 셀 경계를 넘는 일치가 없도록 char(31) 로 이어 붙여 한 번만 검사
+			where.add("""
+                instr(lower(ifnull(emp_no,'') || char(31) || ifnull(emp_name,'') || char(31) || ifnull("date",'')
+                  || char(31) || ifnull(in_time,'') || char(31) || ifnull(out_time,'') || char(31) || ifnull(memo,'')), ?) > 0""");
+			params.add(Scope.fold(s.text()));
+		}
+		return from;
 	}
 
-	/** 인덱스는 컬럼이 있을 때만 생성 */
-	private void createIndexesIfColumnsExist() throws SQLException {
-		try (Connection c = Database.getConnection();
-		     Statement st = c.createStatement()) {
-			if (hasColumn("attendance", "date")) {
-				st.execute("""
-                    CREATE INDEX IF NOT EXISTS idx_att_emp_date
-                    ON attendance(emp_no, "date");
-                """);
-				st.execute("""
-                    CREATE INDEX IF NOT EXISTS idx_att_date
-                    ON attendance("date");
-                """);
-			}
-			if (hasColumn("attendance", "out_date")) {
-				st.execute("""
-                    CREATE INDEX IF NOT EXISTS idx_att_out_date
-                    ON attendance("out_date");
-                """);
-			}
+	private static String whereClause(List<String> where) {
+		return where.isEmpty() ? "" : " WHERE " + String.join(" AND ", where);
+	}
+
+	/**
+	 * (date, in_time, emp_no, id) 행 값 비교를 NULL 안전하게 풀어 씀
+	 * - 키 값이 NULL 인지에 따라 SQL 이 달라지므로 조합별로 문장 캐시에 올라감 (방향별 최대 4개)
+	 * - date 가 있으면 "date" >=/<= ? 를 앞에 둬서 인덱스 범위 탐색으로 시작
+	 */
+	private static String seek(PageKey k, boolean after, List<Object> p) {
+		StringBuilder sql = new StringBuilder();
+		if (k.date() != null) {
+			sql.append(after ? "\"date\" >= ? AND " : "(\"date\" <= ? OR \"date\" IS NULL) AND ");
+			p.add(k.date());
 		}
+		sql.append('(').append(beyond("\"date\"", k.date(), after, p))
+		   .append(" OR (").append(same("\"date\"", k.date(), p))
+		   .append(" AND (").append(beyond("in_time", k.inTime(), after, p))
+		   .append(" OR (").append(same("in_time", k.inTime(), p))
+		   .append(after ? " AND (emp_no > ? OR (emp_no = ? AND id > ?))"
+		                 : " AND (emp_no < ? OR (emp_no = ? AND id < ?))")
+		   .append("))))");
+		p.add(k.empNo());
+		p.add(k.empNo());
+		p.add(k.id());
+		return sql.toString();
 	}
 
-	/* ===================== CRUD / Queries ===================== */
+	/** col 이 v 보다 뒤(after) / 앞(before). NULL 은 가장 작은 값 */
+	private static String beyond(String col, String v, boolean after, List<Object> params) {
+		if (v == null) return after ? col + " IS NOT NULL" : "0";
+		params.add(v);
+		return after ? col + " > ?" : "(" + col + " < ? OR " + col + " IS NULL)";
+	}
 
-	/** 월별(입근일 기준) 조회: YYYY-MM */
-	public List<AttendanceRecord> findByMonth(String ym) throws SQLException {
-		String sql = """
-            SELECT id, emp_no, emp_name, "date", in_time, "out_date", out_time, memo
-            FROM attendance
-            WHERE substr("date",1,7) = ? 
-            ORDER BY "date" ASC, in_time ASC, emp_no ASC, id ASC
-            """;
-		try (Connection c = Database.getConnection();
-		     PreparedStatement ps = c.prepareStatement(sql)) {
-			ps.setString(1, ym);
+	private static String same(String col, String v, List<Object> params) {
+		if (v == null) return col + " IS NULL";
+		params.add(v);
+		return col + " = ?";
+	}
+
+	/* ----- 스트리밍 조회: 목록을 만들지 않고 행마다 매핑 → 기간이 길어도 메모리 일정 ----- */
+
+	/** 스트리밍 조회 행 콜백 */
+	@FunctionalInterface
+	public interface RowVisitor {
+		void visit(AttendanceRecord r) throws SQLException;
+	}
+
+	/**
+	 * 기간 조회를 Stream 으로 (findByRange 와 같은 순서)
+	 * - 연결은 스트림을 close() 할 때까지 대여 상태 → 반드시 try-with-resources 로 사용
+	 * - 조회 중 SQLException 은 IllegalStateException 으로 감싸 던짐
+	 */
+	public Stream<AttendanceRecord> streamByRange(String fromInclusive, String toExclusive) throws SQLException {
+		return stream(rangeQuery(fromInclusive, toExclusive));
+	}
+
+	public Stream<AttendanceRecord> streamByEmpAndRange(String empNo, String fromInclusive, String toExclusive) throws SQLException {
+		return stream(empRangeQuery(empNo, fromInclusive, toExclusive));
+	}
+
+	/** 기간 조회를 행 콜백으로 (연결 반납까지 메서드 안에서 처리). 반환: 방문한 행 수 */
+	public long forEachByRange(String fromInclusive, String toExclusive, RowVisitor visitor) throws SQLException {
+		return forEach(rangeQuery(fromInclusive, toExclusive), visitor);
+	}
+
+	public long forEachByEmpAndRange(String empNo, String fromInclusive, String toExclusive, RowVisitor visitor) throws SQLException {
+		return forEach(empRangeQuery(empNo, fromInclusive, toExclusive), visitor);
+	}
+
+	/* ----- 근무 시간 합계: 행을 읽어 Java에서 파싱하지 않고 SQL에서 합산 ----- */
+
+	/**
+	 * 기간(입근일 기준) 사번별 근무 분 합계 (사번 오름차순)
+	 * - 출/퇴근이 모두 있는 행만, 행마다 분 단위 내림 후 합산 (AttendanceRecord.getWorkMinutes 와 같은 규칙)
+	 * - 정수 컬럼이 준비된 DB면 epoch day/초 정수 연산만으로 계산 (idx_att_day 커버링)
+	 */
+	public Map<String, Long> sumWorkMinutesByEmp(String fromInclusive, String toExclusive) throws SQLException {
+		String sql;
+		Object from, to;
+		if (intColumnsReady()) {
+			sql = """
+                SELECT emp_no, SUM(((COALESCE(out_day, date_day) - date_day) * 86400 + out_sec - in_sec) / 60)
+                FROM attendance
+                WHERE date_day >= ? AND date_day < ? AND in_sec IS NOT NULL AND out_sec IS NOT NULL
+                GROUP BY emp_no ORDER BY emp_no
+                """;
+			from = epochDay(fromInclusive);
+			to = epochDay(toExclusive);
+		} else {
+			sql = """
+                SELECT emp_no, SUM((%s - %s) / 60)
+                FROM attendance
+                WHERE "date" >= ? AND "date" < ? AND in_time IS NOT NULL AND out_time IS NOT NULL
+                GROUP BY emp_no ORDER BY emp_no
+                """.formatted(TEXT_OUT_EPOCH, TEXT_IN_EPOCH);
+			from = fromInclusive;
+			to = toExclusive;
+		}
+		try (PooledConnection pc = Database.borrow()) {
+			PreparedStatement ps = pc.prepare(sql);
+			ps.setObject(1, from);
+			ps.setObject(2, to);
+			Map<String, Long> sums = new LinkedHashMap<>();
 			try (ResultSet rs = ps.executeQuery()) {
-				List<AttendanceRecord> list = new ArrayList<>();
-				while (rs.next()) list.add(map(rs));
-				return list;
+				while (rs.next()) sums.put(rs.getString(1), rs.getLong(2));
 			}
+			return sums;
 		}
 	}
 
-	/** 일별 조회: 지정일이 입근일이거나 퇴근일인 건을 모두 반환 */
-	public List<AttendanceRecord> findByDate(String ymd) throws SQLException {
-		String sql = """
-            SELECT id, emp_no, emp_name, "date", in_time, "out_date", out_time, memo
-            FROM attendance
-            WHERE "date" = ? OR "out_date" = ?
-            ORDER BY "date" ASC, in_time ASC, emp_no ASC, id ASC
-            """;
-		try (Connection c = Database.getConnection();
-		     PreparedStatement ps = c.prepareStatement(sql)) {
-			ps.setString(1, ymd);
-			ps.setString(2, ymd);
+	/** 근무 구간 콜백 (start/end: 기준일 0시부터의 초) */
+	@FunctionalInterface
+	public interface ShiftVisitor {
+		void visit(String empNo, int startSec, int endSec);
+	}
+
+	/**
+	 * 텍스트 컬럼 → epoch 초 (형식이 깨진 시각은 NULL)
+	 * - sqlite 는 24:xx 를 다음날 0시대로 받아 주므로 시(hour) 24 이상은 직접 걸러냄 → FixedTime.secondOfDay 와 같은 규칙
+	 */
+	private static final String TEXT_IN_EPOCH =
+			"CASE WHEN substr(in_time, 1, 2) < '24' THEN unixepoch(\"date\" || ' ' || in_time) END";
+	private static final String TEXT_OUT_EPOCH =
+			"CASE WHEN substr(out_time, 1, 2) < '24' THEN unixepoch(COALESCE(NULLIF(\"out_date\", ''), \"date\") || ' ' || out_time) END";
+
+	/**
+	 * 기간(입근일 기준) 출/퇴근이 모두 있는 행의 근무 구간을 행마다 콜백 (정렬 없음, 기록 객체를 만들지 않음)
+	 * - 시각은 fromInclusive 0시 기준 초 (퇴근일이 없으면 입근일) → 한 달이면 int 범위로 충분
+	 * - 대상 행은 sumWorkMinutesByEmp 와 같음. 반환: 방문한 행 수
+	 * - 시작 시각이 기간 [from, to) 밖으로 나가는 행은 형식이 깨진 시각처럼 건너뜀 (호출부는 start / 86400 을 기간 내 날짜로 써도 됨)
+	 */
+	public long forEachShift(String fromInclusive, String toExclusive, ShiftVisitor visitor) throws SQLException {
+		String sql;
+		Object base, from, to;
+		if (intColumnsReady()) {
+			sql = """
+                SELECT emp_no, (date_day - ?) * 86400 + in_sec, (COALESCE(out_day, date_day) - ?) * 86400 + out_sec
+                FROM attendance
+                WHERE date_day >= ? AND date_day < ? AND in_sec IS NOT NULL AND out_sec IS NOT NULL
+                """;
+			base = epochDay(fromInclusive);
+			from = base;
+			to = epochDay(toExclusive);
+		} else {
+			sql = """
+                SELECT emp_no, %s - unixepoch(?), %s - unixepoch(?)
+                FROM attendance
+                WHERE "date" >= ? AND "date" < ? AND in_time IS NOT NULL AND out_time IS NOT NULL
+                """.formatted(TEXT_IN_EPOCH, TEXT_OUT_EPOCH);
+			base = fromInclusive;
+			from = fromInclusive;
+			to = toExclusive;
+		}
+		try (PooledConnection pc = Database.borrow()) {
+			PreparedStatement ps = pc.prepare(sql);
+			ps.setObject(1, base);
+			ps.setObject(2, base);
+			ps.setObject(3, from);
+			ps.setObject(4, to);
+			long n = 0;
+			long span = (epochDay(toExclusive) - epochDay(fromInclusive)) * 86_400L;
 			try (ResultSet rs = ps.executeQuery()) {
-				List<AttendanceRecord> list = new ArrayList<>();
-				while (rs.next()) list.add(map(rs));
-				return list;
+				while (rs.next()) {
+					int start = rs.getInt(2);
+					boolean bad = rs.wasNull();
+					int end = rs.getInt(3);
+					if (bad || rs.wasNull()) continue; // 형식이 깨진 시각 (SUM 에서 빠지는 행과 같음)
+					if (start < 0 || start >= span) continue;
+					visitor.visit(rs.getString(1), start, end);
+					n++;
+				}
 			}
+			return n;
 		}
 	}
 
+	/** opt-in 정수 날짜/시각 컬럼(config.IntTimeColumns) 사용 가능 여부 */
+	private static boolean intColumnsReady() throws SQLException {
+		return Database.capabilities().intTimeColumnsReady();
+	}
+
+	private static long epochDay(String ymd) {
+		return LocalDate.parse(ymd).toEpochDay();
+	}
+
 	/** 출근 등록 */
 	// AttendanceRepository.java 내부
 	// 시그니처가 이미 (String empNo, String workDate, String inTime, String memo) 라면
 	// 본문만 아래로 교체. 시그니처가 다르면 호출부 기준에 맞춰 파라미터 이름만 맞게 바꿔 주세요.
 	private void insertIn(String empNo, String workDate, String inTime, String memo) throws java.sql.SQLException {
-		try (java.sql.Connection conn = com.maemong.attendance.config.Database.getConnection();
-		     java.sql.PreparedStatement ps = conn.prepareStatement(
-				     // ✅ 스키마 컬럼명과 일치시키기: "date"
-				     "INSERT INTO attendance (emp_no, \"date\", in_time, memo) VALUES (?, ?, ?, ?)"
-		     )) {
-			ps.setString(1, empNo);
-			ps.setString(2, workDate);  // YYYY-MM-DD
-			ps.setString(3, inTime);    // HH:mm:ss
-			ps.setString(4, memo);
+		try (PooledConnection pc = Database.borrow()) {
+			java.sql.PreparedStatement ps = pc.prepare(INSERT_IN_SQL);
+			bindIn(ps, empNo, workDate, inTime, memo);
+			ps.executeUpdate();
+		}
+	}
+
+	/* ----- CSV 가져오기: 청크 단위 INSERT + 진행 위치(import_checkpoint)를 한 트랜잭션으로 ----- */
+
+	/**
+	 * 기록 한 청크 추가 + 진행 위치 갱신 (한 트랜잭션, JDBC 배치)
+	 * - source/fingerprint 가 null이면 진행 위치는 기록하지 않음
+	 * - rowsDone: 이 청크까지 반영 완료한 원본 데이터 레코드 수
+	 */
+	public void insertChunk(List<AttendanceRecord> rows, String source, String fingerprint, long rowsDone) throws SQLException {
+		try (PooledConnection pc = Database.borrow()) {
+			Connection conn = pc.connection();
+			PreparedStatement ps = pc.prepare(INSERT_FULL_SQL);
+			conn.setAutoCommit(false);
+			try {
+				for (AttendanceRecord r : rows) {
+					ps.setString(1, r.getEmpNo());
+					ps.setString(2, r.getEmpName());
+					ps.setString(3, r.getDate());
+					ps.setString(4, r.getInTime());
+					ps.setString(5, r.getOutDate());
+					ps.setString(6, r.getOutTime());
+					ps.setString(7, r.getMemo());
+					ps.addBatch();
+				}
+				if (!rows.isEmpty()) ps.executeBatch();
+				if (source != null) {
+					PreparedStatement cp = pc.prepare("""
+                        INSERT INTO import_checkpoint (source, fingerprint, rows_done, updated_at)
+                        VALUES (?, ?, ?, datetime('now','localtime'))
+                        ON CONFLICT(source) DO UPDATE SET
+                          fingerprint = excluded.fingerprint,
+                          rows_done   = excluded.rows_done,
+                          updated_at  = excluded.updated_at
+                        """);
+					cp.setString(1, source);
+					cp.setString(2, fingerprint);
+					cp.setLong(3, rowsDone);
+					cp.executeUpdate();
+				}
+				conn.commit();
+			} catch (SQLException | RuntimeException e) {
+				ps.clearBatch();
+				try { conn.rollback(); } catch (SQLException ignore) {}
+				throw e;
+			} finally {
+				conn.setAutoCommit(true);
+			}
+		}
+	}
+
+	/** 이어서 가져올 위치 (기록 없거나 파일이 바뀌었으면 0) */
+	public long findImportCheckpoint(String source, String fingerprint) throws SQLException {
+		try (PooledConnection pc = Database.borrow()) {
+			PreparedStatement ps = pc.prepare(
+					"SELECT rows_done FROM import_checkpoint WHERE source = ? AND fingerprint = ?");
+			ps.setString(1, source);
+			ps.setString(2, fingerprint);
+			try (ResultSet rs = ps.executeQuery()) {
+				return rs.next() ? rs.getLong(1) : 0L;
+			}
+		}
+	}
+
+	/** 가져오기 완료 후 진행 위치 삭제 */
+	public void clearImportCheckpoint(String source) throws SQLException {
+		try (PooledConnection pc = Database.borrow()) {
+			PreparedStatement ps = pc.prepare("DELETE FROM import_checkpoint WHERE source = ?");
+			ps.setString(1, source);
 			ps.executeUpdate();
 		}
 	}
@@ -257,8 +688,8 @@ public class AttendanceRepository {
             SET "out_date" = ?, out_time = ?, memo = COALESCE(?, memo)
             WHERE id = ?
             """;
-		try (Connection c = Database.getConnection();
-		     PreparedStatement ps = c.prepareStatement(sql)) {
+		try (PooledConnection pc = Database.borrow()) {
+			PreparedStatement ps = pc.prepare(sql);
 			ps.setString(1, outDate);
 			ps.setString(2, outTime);
 			ps.setString(3, memo);
@@ -274,8 +705,8 @@ public class AttendanceRepository {
             SET "out_date" = ?, out_time = ?, memo = COALESCE(?, memo)
             WHERE emp_no = ? AND "date" = ? AND in_time = ?
             """;
-		try (Connection c = Database.getConnection();
-		     PreparedStatement ps = c.prepareStatement(sql)) {
+		try (PooledConnection pc = Database.borrow()) {
+			PreparedStatement ps = pc.prepare(sql);
 			ps.setString(1, outDate);
 			ps.setString(2, outTime);
 			ps.setString(3, memo);
@@ -291,8 +722,8 @@ public class AttendanceRepository {
             SELECT id, emp_no, emp_name, "date", in_time, "out_date", out_time, memo
             FROM attendance WHERE id = ?
             """;
-		try (Connection c = Database.getConnection();
-		     PreparedStatement ps = c.prepareStatement(sql)) {
+		try (PooledConnection pc = Database.borrow()) {
+			PreparedStatement ps = pc.prepare(sql);
 			ps.setLong(1, id);
 			try (ResultSet rs = ps.executeQuery()) {
 				return rs.next() ? map(rs) : null;
@@ -302,8 +733,8 @@ public class AttendanceRepository {
 
 	public int deleteById(long id) throws SQLException {
 		String sql = "DELETE FROM attendance WHERE id = ?";
-		try (Connection c = Database.getConnection();
-		     PreparedStatement ps = c.prepareStatement(sql)) {
+		try (PooledConnection pc = Database.borrow()) {
+			PreparedStatement ps = pc.prepare(sql);
 			ps.setLong(1, id);
 			return ps.executeUpdate();
 		}
@@ -314,8 +745,8 @@ public class AttendanceRepository {
             DELETE FROM attendance
             WHERE emp_no = ? AND "date" = ? AND in_time = ? AND (out_time IS ? OR out_time = ?)
             """;
-		try (Connection c = Database.getConnection();
-		     PreparedStatement ps = c.prepareStatement(sql)) {
+		try (PooledConnection pc = Database.borrow()) {
+			PreparedStatement ps = pc.prepare(sql);
 			ps.setString(1, empNo);
 			ps.setString(2, date);
 			ps.setString(3, inTime);
@@ -331,9 +762,8 @@ public class AttendanceRepository {
 	}
 
 	private boolean tableExists(String table) throws SQLException {
-		try (Connection c = Database.getConnection();
-		     PreparedStatement ps = c.prepareStatement(
-				     "SELECT 1 FROM sqlite_master WHERE type='table' AND name=?")) {
+		try (PooledConnection pc = Database.borrow()) {
+			PreparedStatement ps = pc.prepare("SELECT 1 FROM sqlite_master WHERE type='table' AND name=?");
 			ps.setString(1, table);
 			try (ResultSet rs = ps.executeQuery()) {
 				return rs.next();
@@ -343,6 +773,69 @@ public class AttendanceRepository {
 
 	/* ===================== Mapper ===================== */
 
+	/** SQL + 바인딩 파라미터(문자열/정수) */
+	private record Query(String sql, Object... params) {
+		PreparedStatement prepare(PooledConnection pc) throws SQLException {
+			PreparedStatement ps = pc.prepare(sql);
+			for (int i = 0; i < params.length; i++) ps.setObject(i + 1, params[i]);
+			return ps;
+		}
+	}
+
+	/** 스트리밍 조회 시 드라이버가 한 번에 가져오는 행 수 */
+	private static final int STREAM_FETCH_SIZE = 500;
+
+	private List<AttendanceRecord> list(String sql, Object... params) throws SQLException {
+		return list(new Query(sql, params));
+	}
+
+	private List<AttendanceRecord> list(Query q) throws SQLException {
+		List<AttendanceRecord> list = new ArrayList<>();
+		forEach(q, list::add);
+		return list;
+	}
+
+	private long forEach(Query q, RowVisitor visitor) throws SQLException {
+		try (PooledConnection pc = Database.borrow();
+		     ResultSet rs = q.prepare(pc).executeQuery()) {
+			long n = 0;
+			while (rs.next()) {
+				visitor.visit(map(rs));
+				n++;
+			}
+			return n;
+		}
+	}
+
+	/** 연결/ResultSet 을 스트림 수명에 묶음 (onClose 에서 닫고 반납) */
+	private Stream<AttendanceRecord> stream(Query q) throws SQLException {
+		PooledConnection pc = Database.borrow();
+		try {
+			PreparedStatement ps = q.prepare(pc);
+			ps.setFetchSize(STREAM_FETCH_SIZE);
+			ResultSet rs = ps.executeQuery();
+			Spliterator<AttendanceRecord> rows = new Spliterators.AbstractSpliterator<>(
+					Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+				@Override public boolean tryAdvance(Consumer<? super AttendanceRecord> action) {
+					try {
+						if (!rs.next()) return false;
+						action.accept(map(rs));
+						return true;
+					} catch (SQLException e) {
+						throw new IllegalStateException("기록 조회 중 오류: " + e.getMessage(), e);
+					}
+				}
+			};
+			return StreamSupport.stream(rows, false).onClose(() -> {
+				try { rs.close(); } catch (SQLException ignore) {}
+				pc.close();
+			});
+		} catch (SQLException | RuntimeException e) {
+			pc.close();
+			throw e;
+		}
+	}
+
 	private AttendanceRecord map(ResultSet rs) throws SQLException {
 		AttendanceRecord r = new AttendanceRecord();
 		long id = rs.getLong("id");
@@ -354,6 +847,7 @@ public class AttendanceRepository {
 		r.setOutDate(rs.getString("out_date"));
 		r.setOutTime(rs.getString("out_time"));
 		r.setMemo(rs.getString("memo"));
+		r.resolveInstants(); // 근무 시간 계산용 epoch 초를 여기서 한 번만 파싱
 		return r;
 	}
 }
@@ -0,0 +1,104 @@
+package com.maemong.attendance.repository;
+
+import com.maemong.attendance.config.StoreContext;
+import com.maemong.attendance.model.Employee;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 직원 목록 캐시 (점포 DB 파일당 하나, 사번 기준)
+ * - 처음 읽을 때 한 번만 listAll() → 이후 조회(listAll/find)는 DB 를 거치지 않음
+ * - EmployeeRepository 변경 알림으로 바뀐 직원만 반영 (쓰기 후 다시 읽은 값 그대로)
+ * - 스냅샷은 읽기 전용 + 교체 방식 → 아무 스레드에서나 잠금 없이 읽음. 반환한 Employee 는 수정하지 말 것
+ */
+public final class EmployeeDirectory {
+
+    private static final Map<String, EmployeeDirectory> BY_DB = new ConcurrentHashMap<>();
+
+    static {
+        EmployeeRepository.addChangeListener(EmployeeDirectory::onChanged);
+    }
+
+    /** 사번 → 직원 + 사번 오름차순 목록 (둘 다 변경 불가) */
+    private record Snapshot(Map<String, Employee> byEmpNo, List<Employee> list) {
+        static Snapshot of(TreeMap<String, Employee> map) {
+            return new Snapshot(Collections.unmodifiableMap(map),
+                    Collections.unmodifiableList(new ArrayList<>(map.values())));
+        }
+    }
+
+    private final String dbPath;
+    private final EmployeeRepository repo = new EmployeeRepository();
+    /** null = 아직 안 읽음 (또는 무효화됨) */
+    private volatile Snapshot snapshot;
+    /** 변경 알림마다 증가 → 읽는 도중 바뀌었으면 읽은 결과를 버리고 다시 읽음 */
+    private long version;
+
+    private EmployeeDirectory(String dbPath) {
+        this.dbPath = dbPath;
+    }
+
+    /** 현재 점포의 캐시 */
+    public static EmployeeDirectory current() {
+        return BY_DB.computeIfAbsent(StoreContext.getDbFilePath(), EmployeeDirectory::new);
+    }
+
+    /** 전체 직원 (사번 오름차순, 읽기 전용) */
+    public List<Employee> listAll() throws SQLException {
+        return load().list();
+    }
+
+    /** 사번으로 조회 (없으면 null) */
+    public Employee find(String empNo) throws SQLException {
+        return empNo == null ? null : load().byEmpNo().get(empNo);
+    }
+
+    /** 다음 조회 때 DB 에서 다시 읽게 함 (외부 도구로 DB 를 고친 경우 등) */
+    public synchronized void invalidate() {
+        version++;
+        snapshot = null;
+    }
+
+    private Snapshot load() throws SQLException {
+        Snapshot s = snapshot;
+        if (s != null) return s;
+        while (true) {
+            long v;
+            synchronized (this) {
+                if (snapshot != null) return snapshot;
+                v = version;
+            }
+            // 조회는 잠금 밖에서 (그동안 다른 스레드의 읽기/알림을 막지 않음)
+            if (!dbPath.equals(StoreContext.getDbFilePath())) {
+                throw new SQLException("점포가 전환되어 직원 목록을 읽을 수 없습니다: " + dbPath);
+            }
+            TreeMap<String, Employee> map = new TreeMap<>();
+            for (Employee e : repo.listAll()) map.put(e.getEmpNo(), e);
+            synchronized (this) {
+                if (version == v) return snapshot = Snapshot.of(map);
+            }
+        }
+    }
+
+    /** EmployeeRepository 쓰기 직후 (쓴 스레드) → 해당 점포 스냅샷에 바뀐 직원만 반영 */
+    private static void onChanged(String dbPath, List<Employee> upserted, List<String> removed) {
+        EmployeeDirectory d = BY_DB.get(dbPath);
+        if (d != null) d.apply(upserted, removed);
+    }
+
+    private synchronized void apply(List<Employee> upserted, List<String> removed) {
+        version++;
+        Snapshot s = snapshot;
+        if (s == null) return; // 다음 조회 때 새로 읽음
+        TreeMap<String, Employee> map = new TreeMap<>(s.byEmpNo());
+        for (Employee e : upserted) map.put(e.getEmpNo(), e);
+        for (String empNo : removed) map.remove(empNo);
+        snapshot = Snapshot.of(map);
+    }
+}
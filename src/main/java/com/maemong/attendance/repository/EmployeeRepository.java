@@ -1,89 +1,83 @@
 package com.maemong.attendance.repository;
 
 import com.maemong.attendance.config.Database;
+import com.maemong.attendance.config.PooledConnection;
+import com.maemong.attendance.config.StoreContext;
 import com.maemong.attendance.model.Employee;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
-/** 직원 레포지토리 (CRUD + upsert, updateWage) */
+/** 직원 레포지토리 (CRUD + upsert/일괄 upsert, updateWage, 변경 알림) */
 public class EmployeeRepository {
 
-    public EmployeeRepository() {
-        ensureSchema();
-    }
-
-    /* ===== 스키마 생성/보정 ===== */
-    private void ensureSchema() {
-        try (Connection c = Database.getConnection();
-             Statement st = c.createStatement()) {
-            st.execute("""
-                CREATE TABLE IF NOT EXISTS employees(
-                  emp_no TEXT PRIMARY KEY,
-                  name   TEXT,
-                  position TEXT,
-                  rrn    TEXT,
-                  phone  TEXT,
-                  wage   INTEGER DEFAULT 0,
-                  bank   TEXT,
-                  account TEXT,
-                  address TEXT,
-                  contract_date TEXT,
-                  memo   TEXT
-                )
-                """);
-            addColumnIfMissing(c, "employees", "position",      "TEXT");
-            addColumnIfMissing(c, "employees", "rrn",           "TEXT");
-            addColumnIfMissing(c, "employees", "phone",         "TEXT");
-            addColumnIfMissing(c, "employees", "wage",          "INTEGER DEFAULT 0");
-            addColumnIfMissing(c, "employees", "bank",          "TEXT");
-            addColumnIfMissing(c, "employees", "account",       "TEXT");
-            addColumnIfMissing(c, "employees", "address",       "TEXT");
-            addColumnIfMissing(c, "employees", "contract_date", "TEXT");
-            addColumnIfMissing(c, "employees", "memo",          "TEXT");
-        } catch (Exception e) {
-            e.printStackTrace();
+    private static final Logger log = LoggerFactory.getLogger(EmployeeRepository.class);
+
+    /** 사번을 제외한 컬럼 (INSERT 바인딩 순서와 동일) — 일괄 upsert 갱신 대상 지정용 */
+    public static final List<String> COLUMNS = List.of(
+            "name", "position", "rrn", "phone", "wage", "bank", "account", "address", "contract_date", "memo");
+
+    /** 일괄 upsert 한 트랜잭션당 행 수 */
+    static final int BULK_CHUNK = 500;
+
+    /** 일괄 upsert 결과 (unchanged: 값이 모두 같아 다시 쓰지 않은 행) */
+    public record UpsertSummary(int inserted, int updated, int unchanged) {
+        public static final UpsertSummary EMPTY = new UpsertSummary(0, 0, 0);
+
+        public UpsertSummary plus(UpsertSummary o) {
+            return new UpsertSummary(inserted + o.inserted, updated + o.updated, unchanged + o.unchanged);
         }
     }
 
-    private void addColumnIfMissing(Connection c, String table, String col, String type) throws SQLException {
-        boolean exists = false;
-        try (PreparedStatement ps = c.prepareStatement("PRAGMA table_info(" + table + ")")) {
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    if (col.equalsIgnoreCase(rs.getString("name"))) { exists = true; break; }
-                }
-            }
-        }
-        if (!exists) {
-            try (Statement st = c.createStatement()) {
-                st.execute("ALTER TABLE " + table + " ADD COLUMN " + col + " " + type);
-            }
-        }
+    /* 테이블/컬럼 보장은 config.SchemaMigrator 가 DB 파일당 1회 수행 */
+
+    /* ===== 변경 알림 ===== */
+
+    /**
+     * 직원 변경 리스너 — 이 클래스를 거친 쓰기가 커밋된 직후, 쓴 스레드에서 호출
+     * - dbPath   : 변경된 점포 DB 파일 (StoreContext.getDbFilePath())
+     * - upserted : 추가/변경된 직원의 현재 값 (쓰기 후 다시 읽은 행, 값이 같아 건너뛴 행은 제외)
+     * - removed  : 삭제된 사번
+     * UI 에서 쓸 때는 EDT 로 넘겨 처리할 것
+     */
+    public interface ChangeListener {
+        void employeesChanged(String dbPath, List<Employee> upserted, List<String> removed);
     }
 
+    private static final List<ChangeListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    public static void addChangeListener(ChangeListener l)    { LISTENERS.add(l); }
+    public static void removeChangeListener(ChangeListener l) { LISTENERS.remove(l); }
+
     /* ===== CRUD ===== */
 
     public List<Employee> listAll() throws SQLException {
-        ensureSchema();
         List<Employee> list = new ArrayList<>();
         String sql = "SELECT emp_no, name, position, rrn, phone, wage, bank, account, address, contract_date, memo " +
                      "FROM employees ORDER BY emp_no ASC";
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
+        try (PooledConnection pc = Database.borrow();
+             ResultSet rs = pc.prepare(sql).executeQuery()) {
             while (rs.next()) list.add(map(rs));
         }
         return list;
     }
 
+    private static final String SELECT_COLUMNS =
+            "SELECT emp_no, name, position, rrn, phone, wage, bank, account, address, contract_date, memo FROM employees ";
+    private static final String FIND_ONE_SQL = SELECT_COLUMNS + "WHERE emp_no = ?";
+    /** 알림용 재조회: 항상 BULK_CHUNK 개 자리 (모자라면 마지막 사번 반복) → 문장 모양 하나로 캐시 재사용 */
+    private static final String FIND_CHUNK_SQL = SELECT_COLUMNS + "WHERE emp_no IN (" + "?,".repeat(BULK_CHUNK - 1) + "?)";
+
     public Employee findByEmpNo(String empNo) throws SQLException {
-        ensureSchema();
-        String sql = "SELECT emp_no, name, position, rrn, phone, wage, bank, account, address, contract_date, memo " +
-                     "FROM employees WHERE emp_no = ?";
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
+        try (PooledConnection pc = Database.borrow()) {
+            PreparedStatement ps = pc.prepare(FIND_ONE_SQL);
             ps.setString(1, empNo);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) return map(rs);
@@ -93,59 +87,188 @@ public class EmployeeRepository {
     }
 
     public void insert(Employee e) throws SQLException {
-        ensureSchema();
         String sql = """
             INSERT INTO employees
               (emp_no, name, position, rrn, phone, wage, bank, account, address, contract_date, memo)
             VALUES (?,?,?,?,?,?,?,?,?,?,?)
             """;
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
+        try (PooledConnection pc = Database.borrow()) {
+            PreparedStatement ps = pc.prepare(sql);
             bindInsert(ps, e);
             ps.executeUpdate();
         }
+        notifyUpserted(List.of(e.getEmpNo()));
     }
 
     public void update(Employee e) throws SQLException {
-        ensureSchema();
         String sql = """
             UPDATE employees SET
               name=?, position=?, rrn=?, phone=?, wage=?, bank=?, account=?, address=?, contract_date=?, memo=?
             WHERE emp_no=?
             """;
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
+        boolean changed;
+        try (PooledConnection pc = Database.borrow()) {
+            PreparedStatement ps = pc.prepare(sql);
             bindUpdate(ps, e);
-            ps.executeUpdate();
+            changed = ps.executeUpdate() > 0;
         }
+        if (changed) notifyUpserted(List.of(e.getEmpNo()));
     }
 
     public void deleteByEmpNo(String empNo) throws SQLException {
-        ensureSchema();
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement("DELETE FROM employees WHERE emp_no=?")) {
+        boolean deleted;
+        try (PooledConnection pc = Database.borrow()) {
+            PreparedStatement ps = pc.prepare("DELETE FROM employees WHERE emp_no=?");
             ps.setString(1, empNo);
-            ps.executeUpdate();
+            deleted = ps.executeUpdate() > 0;
         }
+        if (deleted) fire(List.of(), List.of(empNo));
     }
 
     /* ===== AttendanceService가 기대하는 메서드 ===== */
 
-    /** ✅ upsert: 있으면 UPDATE, 없으면 INSERT */
+    /** ✅ upsert: 있으면 UPDATE, 없으면 INSERT (SQLite ON CONFLICT 한 문장) */
     public void upsert(Employee e) throws SQLException {
-        if (findByEmpNo(e.getEmpNo()) == null) insert(e);
-        else update(e);
+        upsertAll(List.of(e));
+    }
+
+    /** 일괄 upsert (모든 컬럼 갱신) */
+    public UpsertSummary upsertAll(List<Employee> list) throws SQLException {
+        return upsertAll(list, COLUMNS);
+    }
+
+    /**
+     * 일괄 upsert: INSERT ... ON CONFLICT(emp_no) DO UPDATE, BULK_CHUNK 건씩 한 트랜잭션 + JDBC 배치
+     * - columns: 기존 직원에서 덮어쓸 컬럼 (CSV에 없는 컬럼은 기존 값 유지). 신규 직원은 모든 컬럼 INSERT
+     * - 갱신 대상 컬럼 값이 전부 같으면 DO UPDATE ... WHERE 조건에서 걸러져 쓰지 않음 → unchanged
+     * - 같은 사번이 여러 번 나오면 뒤의 값이 남음
+     */
+    public UpsertSummary upsertAll(List<Employee> list, Collection<String> columns) throws SQLException {
+        String sql = upsertSql(columns);
+        UpsertSummary total = UpsertSummary.EMPTY;
+        List<String> written = new ArrayList<>();
+        try {
+            for (int from = 0; from < list.size(); from += BULK_CHUNK) {
+                total = total.plus(upsertChunk(list.subList(from, Math.min(list.size(), from + BULK_CHUNK)), sql, written));
+            }
+        } finally {
+            // 중간 청크에서 실패해도 이미 커밋된 청크는 알림
+            notifyUpserted(written);
+        }
+        return total;
+    }
+
+    /** written: 실제로 추가/변경된 사번을 덧붙임 (커밋 후) */
+    private UpsertSummary upsertChunk(List<Employee> chunk, String sql, List<String> written) throws SQLException {
+        try (PooledConnection pc = Database.borrow()) {
+            Connection conn = pc.connection();
+            PreparedStatement exists = pc.prepare("SELECT 1 FROM employees WHERE emp_no = ?");
+            PreparedStatement ps = pc.prepare(sql);
+            conn.setAutoCommit(false);
+            try {
+                // 배치 전에 기존 여부 확인 (PK 탐색) → 반영 행 수 1을 INSERT/UPDATE 로 구분
+                boolean[] existed = new boolean[chunk.size()];
+                Set<String> seen = new HashSet<>();
+                for (int i = 0; i < chunk.size(); i++) {
+                    String empNo = chunk.get(i).getEmpNo();
+                    if (!seen.add(empNo)) { existed[i] = true; continue; } // 청크 안 중복
+                    exists.setString(1, empNo);
+                    try (ResultSet rs = exists.executeQuery()) { existed[i] = rs.next(); }
+                }
+                for (Employee e : chunk) {
+                    bindInsert(ps, e);
+                    ps.addBatch();
+                }
+                int[] counts = ps.executeBatch();
+                conn.commit();
+
+                int inserted = 0, updated = 0, unchanged = 0;
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == 0) { unchanged++; continue; }
+                    if (existed[i]) updated++;
+                    else inserted++;
+                    written.add(chunk.get(i).getEmpNo());
+                }
+                return new UpsertSummary(inserted, updated, unchanged);
+            } catch (SQLException | RuntimeException ex) {
+                ps.clearBatch();
+                try { conn.rollback(); } catch (SQLException ignore) {}
+                throw ex;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /** 갱신 컬럼 조합별 UPSERT 문 (COLUMNS 순서로 고정 → 문장 캐시 재사용) */
+    private static String upsertSql(Collection<String> columns) {
+        List<String> set = new ArrayList<>(), changed = new ArrayList<>();
+        for (String c : COLUMNS) {
+            if (!columns.contains(c)) continue;
+            set.add(c + " = excluded." + c);
+            changed.add("employees." + c + " IS NOT excluded." + c);
+        }
+        String insert = """
+            INSERT INTO employees
+              (emp_no, name, position, rrn, phone, wage, bank, account, address, contract_date, memo)
+            VALUES (?,?,?,?,?,?,?,?,?,?,?)
+            """;
+        if (set.isEmpty()) return insert + "ON CONFLICT(emp_no) DO NOTHING";
+        return insert + "ON CONFLICT(emp_no) DO UPDATE SET " + String.join(", ", set)
+                + " WHERE " + String.join(" OR ", changed);
     }
 
     /** ✅ 시급만 갱신 */
     public void updateWage(String empNo, int wage) throws SQLException {
-        ensureSchema();
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(
-                     "UPDATE employees SET wage=? WHERE emp_no=?")) {
+        boolean changed;
+        try (PooledConnection pc = Database.borrow()) {
+            PreparedStatement ps = pc.prepare("UPDATE employees SET wage=? WHERE emp_no=?");
             ps.setInt(1, wage);
             ps.setString(2, empNo);
-            ps.executeUpdate();
+            changed = ps.executeUpdate() > 0;
+        }
+        if (changed) notifyUpserted(List.of(empNo));
+    }
+
+    /**
+     * 변경된 사번의 현재 행을 다시 읽어 알림 (리스너가 없으면 읽지 않음)
+     * - 쓰기는 이미 커밋됨 → 재조회 오류는 로그만 남기고 던지지 않음 (쓰기 결과/원래 예외를 가리지 않도록)
+     * - 문장은 두 모양만: 1건(FIND_ONE_SQL), 그 외 BULK_CHUNK 자리(FIND_CHUNK_SQL)
+     */
+    private void notifyUpserted(List<String> empNos) {
+        if (LISTENERS.isEmpty() || empNos.isEmpty()) return;
+        List<Employee> rows = new ArrayList<>(empNos.size());
+        try (PooledConnection pc = Database.borrow()) {
+            if (empNos.size() == 1) {
+                PreparedStatement ps = pc.prepare(FIND_ONE_SQL);
+                ps.setString(1, empNos.get(0));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) rows.add(map(rs));
+                }
+            } else {
+                PreparedStatement ps = pc.prepare(FIND_CHUNK_SQL);
+                for (int from = 0; from < empNos.size(); from += BULK_CHUNK) {
+                    List<String> part = empNos.subList(from, Math.min(empNos.size(), from + BULK_CHUNK));
+                    for (int i = 0; i < BULK_CHUNK; i++) ps.setString(i + 1, part.get(Math.min(i, part.size() - 1)));
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) rows.add(map(rs));
+                    }
+                }
+            }
+        } catch (SQLException | RuntimeException ex) {
+            log.error("직원 변경 알림용 재조회 실패 ({}건) — 화면/캐시는 새로고침 전까지 이전 값", empNos.size(), ex);
+            return;
+        }
+        fire(rows, List.of());
+    }
+
+    /** 리스너 호출 (리스너 오류는 쓰기 결과에 영향 없음) */
+    private static void fire(List<Employee> upserted, List<String> removed) {
+        if (LISTENERS.isEmpty()) return;
+        String dbPath = StoreContext.getDbFilePath();
+        for (ChangeListener l : LISTENERS) {
+            try { l.employeesChanged(dbPath, upserted, removed); }
+            catch (RuntimeException ex) { log.error("직원 변경 리스너 오류", ex); }
         }
     }
 
@@ -0,0 +1,195 @@
+package com.maemong.attendance.service;
+
+import com.maemong.attendance.repository.AttendanceRepository;
+import com.maemong.attendance.repository.AttendanceRepository.Scope;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 출퇴근 기록 CSV 내보내기 (조회 조건 전체를 DB 에서 바로)
+ * - AttendanceRepository.forEach 커서로 한 행씩 읽어 곧바로 인코딩 → 행 수와 무관하게 메모리 일정
+ * - 셀을 문자열로 이어 붙이지 않고 UTF-8 바이트로 버퍼(BUFFER_SIZE)에 직접 씀 → 가득 차면 FileChannel 로 한 번에 기록
+ * - 형식은 CsvUtil.writeLine 과 같음 (UTF-8 BOM, 쉼표 구분, 필요할 때만 큰따옴표 인용, 줄 끝 \n)
+ *   → AttendanceCsvImporter 로 그대로 다시 가져올 수 있음 (퇴근일 포함)
+ * - 같은 폴더의 임시 파일에 쓰고 끝나면 대상 파일로 교체 → 취소/오류 시 기존 파일은 그대로, 임시 파일은 삭제
+ * - cancelled 는 PROGRESS_EVERY 행마다 확인
+ */
+public class AttendanceCsvExporter {
+
+	/**
+	 * 헤더 (조회 탭 컬럼에서 숨김 ID 제외 + 퇴근일)
+	 * - 퇴근일은 화면에 없지만 DB 값을 그대로 씀 → AttendanceCsvImporter 로 다시 가져올 때 추정하지 않고 보존
+	 *   (24시간 이상 근무, 직접 지정한 퇴근일)
+	 */
+	public static final String[] HEADER = {"사번", "이름", "날짜", "출근", "퇴근일", "퇴근", "메모"};
+
+	static final int BUFFER_SIZE = 1 << 20;
+	static final int PROGRESS_EVERY = 4096;
+
+	/** 진행 알림 (PROGRESS_EVERY 행마다 + 끝날 때 1회). totalRows: 호출부가 넘긴 예상 행 수 (모르면 -1) */
+	@FunctionalInterface
+	public interface ProgressListener {
+		void onProgress(long rowsWritten, long totalRows, long bytesWritten);
+	}
+
+	/** 내보내기 결과 (cancelled 면 파일은 만들어지지 않음) */
+	public record Result(long rowsWritten, long bytesWritten, boolean cancelled) {}
+
+	private final AttendanceRepository attendanceRepo = new AttendanceRepository();
+
+	/**
+	 * 조건 전체를 화면과 같은 순서로 file 에 씀
+	 * - expectedRows: 진행률 표시용 (모르면 -1)
+	 * - cancelled: true 를 돌려주면 중단 (null 이면 끝까지)
+	 */
+	public Result export(Scope scope, long expectedRows, File file,
+	                     BooleanSupplier cancelled, ProgressListener listener) throws IOException, SQLException {
+		Path target = file.toPath().toAbsolutePath();
+		Path tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".part");
+		long rows = 0;
+		boolean done = false;
+		try (CsvChannelWriter out = new CsvChannelWriter(FileChannel.open(tmp, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING))) {
+			out.bom();
+			for (String h : HEADER) out.cell(h);
+			out.endLine();
+
+			long[] n = {0};
+			try {
+				attendanceRepo.forEach(scope, r -> {
+					out.cell(r.getEmpNo());
+					out.cell(r.getEmpName());
+					out.cell(r.getDate());
+					out.cell(r.getInTime());
+					out.cell(r.getOutDate());
+					out.cell(r.getOutTime());
+					out.cell(r.getMemo());
+					out.endLine();
+					if (++n[0] % PROGRESS_EVERY == 0) {
+						if (cancelled != null && cancelled.getAsBoolean()) throw new CancellationException();
+						if (listener != null) listener.onProgress(n[0], expectedRows, out.written());
+					}
+				});
+			} catch (CancellationException ex) {
+				return new Result(n[0], out.written(), true);
+			} catch (UncheckedIOException ex) {
+				throw ex.getCause();
+			}
+			rows = n[0];
+			out.flush();
+			out.force();
+			done = true;
+			if (listener != null) listener.onProgress(rows, expectedRows, out.written());
+			return new Result(rows, out.written(), false);
+		} finally {
+			if (done) move(tmp, target);
+			else Files.deleteIfExists(tmp);
+		}
+	}
+
+	private static void move(Path tmp, Path target) throws IOException {
+		try {
+			Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException ex) {
+			Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * CSV 인코더: 셀 문자열을 UTF-8 바이트로 byte[] 버퍼에 직접 씀 (셀마다 새 문자열/배열을 만들지 않음)
+	 * - 인용이 필요한지(, " \n \r 포함) 먼저 훑어 본 뒤, 필요하면 따옴표로 감싸고 " 는 "" 로
+	 */
+	static final class CsvChannelWriter implements Closeable {
+		private final FileChannel ch;
+		private final byte[] buf = new byte[BUFFER_SIZE];
+		private final ByteBuffer bb = ByteBuffer.wrap(buf);
+		private int pos;
+		private long flushed;
+		private boolean lineStart = true;
+
+		CsvChannelWriter(FileChannel ch) { this.ch = ch; }
+
+		long written() { return flushed + pos; }
+
+		void bom() {
+			put((byte) 0xEF); put((byte) 0xBB); put((byte) 0xBF);
+		}
+
+		/** 셀 하나 (null 은 빈 칸) */
+		void cell(String s) {
+			if (!lineStart) put((byte) ',');
+			lineStart = false;
+			if (s == null || s.isEmpty()) return;
+			int n = s.length();
+			boolean quote = false;
+			for (int i = 0; i < n; i++) {
+				char c = s.charAt(i);
+				if (c == ',' || c == '"' || c == '\n' || c == '\r') { quote = true; break; }
+			}
+			if (quote) put((byte) '"');
+			for (int i = 0; i < n; i++) {
+				char c = s.charAt(i);
+				if (c < 0x80) {
+					if (c == '"' && quote) put((byte) '"');
+					put((byte) c);
+				} else if (c < 0x800) {
+					put((byte) (0xC0 | (c >> 6)));
+					put((byte) (0x80 | (c & 0x3F)));
+				} else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+					int cp = Character.toCodePoint(c, s.charAt(++i));
+					put((byte) (0xF0 | (cp >> 18)));
+					put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+					put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+					put((byte) (0x80 | (cp & 0x3F)));
+				} else if (Character.isSurrogate(c)) {
+					put((byte) '?'); // 짝 없는 서로게이트 (String.getBytes 와 같은 치환)
+				} else {
+					put((byte) (0xE0 | (c >> 12)));
+					put((byte) (0x80 | ((c >> 6) & 0x3F)));
+					put((byte) (0x80 | (c & 0x3F)));
+				}
+			}
+			if (quote) put((byte) '"');
+		}
+
+		void endLine() {
+			put((byte) '\n');
+			lineStart = true;
+		}
+
+		private void put(byte b) {
+			if (pos == buf.length) flushUnchecked();
+			buf[pos++] = b;
+		}
+
+		/** RowVisitor 안에서 던질 수 있게 IOException 을 감쌈 (export 에서 풀어 다시 던짐) */
+		private void flushUnchecked() {
+			try { flush(); }
+			catch (IOException ex) { throw new UncheckedIOException(ex); }
+		}
+
+		void flush() throws IOException {
+			bb.clear().limit(pos);
+			while (bb.hasRemaining()) ch.write(bb);
+			flushed += pos;
+			pos = 0;
+		}
+
+		void force() throws IOException { ch.force(false); }
+
+		@Override public void close() throws IOException { ch.close(); }
+	}
+}
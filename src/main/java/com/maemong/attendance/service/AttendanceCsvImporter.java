@@ -0,0 +1,186 @@
+package com.maemong.attendance.service;
+
+import com.maemong.attendance.model.AttendanceRecord;
+import com.maemong.attendance.repository.AttendanceRepository;
+import com.maemong.attendance.util.CsvUtil;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 출퇴근 기록 CSV 가져오기 (레거시 시스템 이관용)
+ * - CsvUtil.writeLine 형식(UTF-8 BOM, 큰따옴표 인용)을 한 레코드씩 스트리밍 → 파일 크기와 무관하게 메모리 일정
+ * - 헤더 이름으로 컬럼 매핑: 사번, 날짜(필수) / 이름, 출근, 퇴근일, 퇴근, 메모(선택)
+ *   (조회 탭 "CSV 내보내기" 결과를 그대로 다시 가져올 수 있음)
+ * - chunkSize 건마다 한 트랜잭션으로 INSERT + 진행 위치 저장 → 중단돼도 같은 파일로 다시 실행하면 이어서 진행
+ * - dryRun: DB에 쓰지 않고 검증만 (진행 위치도 건드리지 않음)
+ * - 잘못된 행은 건너뛰고 오류 목록(최대 {@link #MAX_ERRORS}건)에 데이터 행 번호(헤더 제외)와 함께 기록
+ */
+public class AttendanceCsvImporter {
+
+	public static final int DEFAULT_CHUNK_SIZE = 1000;
+	public static final int MAX_ERRORS = 100;
+
+	/** 진행 알림 (청크 반영 때마다 + 끝날 때 1회) */
+	@FunctionalInterface
+	public interface ProgressListener {
+		void onProgress(long rowsRead, long rowsImported, long bytesRead, long totalBytes);
+	}
+
+	/**
+	 * 가져오기 결과
+	 * - rowsRead     : 이번 실행에서 읽은 데이터 레코드 수 (건너뛴 재개 구간 제외)
+	 * - rowsImported : 반영(dryRun이면 반영 가능)한 행 수
+	 * - rowsInvalid  : 검증 실패로 건너뛴 행 수
+	 * - resumedFrom  : 이전 실행에서 이미 반영돼 건너뛴 레코드 수
+	 */
+	public record Result(long rowsRead, long rowsImported, long rowsInvalid, long resumedFrom,
+	                     boolean dryRun, List<String> errors) {}
+
+	private final AttendanceRepository attendanceRepo = new AttendanceRepository();
+	private final int chunkSize;
+
+	public AttendanceCsvImporter() { this(DEFAULT_CHUNK_SIZE); }
+
+	public AttendanceCsvImporter(int chunkSize) {
+		if (chunkSize < 1) throw new IllegalArgumentException("chunkSize는 1 이상이어야 합니다.");
+		this.chunkSize = chunkSize;
+	}
+
+	public Result importFile(File file, boolean dryRun, ProgressListener listener) throws IOException, SQLException {
+		final String source = file.getCanonicalPath();
+		final String fingerprint = file.length() + ":" + file.lastModified();
+		final long totalBytes = file.length();
+		final long resumeFrom = dryRun ? 0 : attendanceRepo.findImportCheckpoint(source, fingerprint);
+
+		List<AttendanceRecord> chunk = new ArrayList<>(chunkSize);
+		List<String> errors = new ArrayList<>();
+		long recordNo = 0, read = 0, imported = 0, invalid = 0;
+
+		try (CountingInputStream counter = new CountingInputStream(Files.newInputStream(file.toPath()));
+		     Reader in = CsvUtil.newUtf8BomReader(counter)) {
+			String[] header = CsvUtil.readRecord(in);
+			if (header == null) throw new IOException("빈 파일입니다.");
+			Columns cols = Columns.of(header);
+
+			String[] cells;
+			while ((cells = CsvUtil.readRecord(in)) != null) {
+				if (isBlankRecord(cells)) continue;
+				recordNo++;
+				if (recordNo <= resumeFrom) continue; // 이전 실행에서 반영 완료
+				read++;
+
+				try {
+					chunk.add(cols.toRecord(cells));
+				} catch (RuntimeException ex) { // DateTimeParseException 포함
+					invalid++;
+					if (errors.size() < MAX_ERRORS) errors.add("데이터 " + recordNo + "행: " + ex.getMessage());
+				}
+
+				if (chunk.size() >= chunkSize) {
+					imported += flush(chunk, dryRun, source, fingerprint, recordNo);
+					if (listener != null) listener.onProgress(read, imported, counter.count, totalBytes);
+				}
+			}
+			imported += flush(chunk, dryRun, source, fingerprint, recordNo);
+		}
+
+		if (!dryRun) attendanceRepo.clearImportCheckpoint(source);
+		if (listener != null) listener.onProgress(read, imported, totalBytes, totalBytes);
+		return new Result(read, imported, invalid, resumeFrom, dryRun, List.copyOf(errors));
+	}
+
+	/** 청크 반영(+진행 위치 저장) 후 비움. 빈 청크여도 진행 위치는 기록 */
+	private int flush(List<AttendanceRecord> chunk, boolean dryRun,
+	                  String source, String fingerprint, long rowsDone) throws SQLException {
+		int n = chunk.size();
+		if (!dryRun) attendanceRepo.insertChunk(chunk, source, fingerprint, rowsDone);
+		chunk.clear();
+		return n;
+	}
+
+	private static boolean isBlankRecord(String[] cells) {
+		for (String c : cells) if (!c.isBlank()) return false;
+		return true;
+	}
+
+	/* ===================== 헤더 매핑 / 행 변환 ===================== */
+
+	private record Columns(int empNo, int name, int date, int in, int outDate, int out, int memo) {
+
+		static Columns of(String[] header) throws IOException {
+			int empNo = -1, name = -1, date = -1, in = -1, outDate = -1, out = -1, memo = -1;
+			for (int i = 0; i < header.length; i++) {
+				switch (header[i].trim().toLowerCase(Locale.ROOT)) {
+					case "사번", "emp_no"                  -> empNo = i;
+					case "이름", "emp_name", "name"        -> name = i;
+					case "날짜", "입근일", "근무일", "date"   -> date = i;
+					case "출근", "in_time"                 -> in = i;
+					case "퇴근일", "out_date"              -> outDate = i;
+					case "퇴근", "out_time"                -> out = i;
+					case "메모", "memo"                    -> memo = i;
+					default -> { } // 알 수 없는 컬럼은 무시
+				}
+			}
+			if (empNo < 0 || date < 0) throw new IOException("헤더에 '사번'과 '날짜' 컬럼이 필요합니다.");
+			return new Columns(empNo, name, date, in, outDate, out, memo);
+		}
+
+		AttendanceRecord toRecord(String[] cells) {
+			String empNo = cell(cells, empNo());
+			if (empNo == null) throw new IllegalArgumentException("사번이 비어있습니다.");
+			String date = cell(cells, date());
+			if (date == null) throw new IllegalArgumentException("날짜가 비어있습니다.");
+			date = AttendanceService.normalizeDate(date);
+
+			String inTime  = timeOrNull(cell(cells, in()));
+			String outTime = timeOrNull(cell(cells, out()));
+			String outDate = cell(cells, outDate());
+			if (outDate != null) {
+				outDate = AttendanceService.normalizeDate(outDate);
+			} else if (outTime != null) {
+				// 퇴근일 컬럼이 없으면 퇴근 시각이 출근보다 이르면 다음날로 추정 (SchemaMigrator와 같은 규칙)
+				outDate = (inTime != null && outTime.compareTo(inTime) < 0)
+						? LocalDate.parse(date).plusDays(1).toString()
+						: date;
+			}
+			return new AttendanceRecord(null, empNo, cell(cells, name()),
+					date, inTime, outDate, outTime, cell(cells, memo()));
+		}
+
+		private static String timeOrNull(String s) {
+			return s == null ? null : AttendanceService.normalizeTime(s);
+		}
+
+		/** 없는 컬럼/빈 셀은 null */
+		private static String cell(String[] cells, int idx) {
+			if (idx < 0 || idx >= cells.length) return null;
+			String v = cells[idx].trim();
+			return v.isEmpty() ? null : v;
+		}
+	}
+
+	/** 진행률 표시용 바이트 카운터 (BOM/디코더 버퍼만큼 앞설 수 있음) */
+	private static final class CountingInputStream extends FilterInputStream {
+		private long count;
+
+		CountingInputStream(InputStream in) { super(in); }
+
+		@Override public int read() throws IOException {
+			int b = super.read();
+			if (b >= 0) count++;
+			return b;
+		}
+
+		@Override public int read(byte[] b, int off, int len) throws IOException {
+			int n = super.read(b, off, len);
+			if (n > 0) count += n;
+			return n;
+		}
+	}
+}
@@ -1,28 +1,36 @@
 package com.maemong.attendance.service;
 
 import com.maemong.attendance.model.AttendanceRecord;
+import com.maemong.attendance.model.FixedTime;
+import com.maemong.attendance.model.Punch;
+import com.maemong.attendance.model.PunchResult;
 import com.maemong.attendance.repository.AttendanceRepository;
 import com.maemong.attendance.repository.EmployeeRepository;
+import com.maemong.attendance.service.TimeSource.Stamp;
 
 import java.sql.SQLException;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
 import java.time.YearMonth;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.ResolverStyle;
+import java.util.ArrayList;
 import java.util.List;
 
 public class AttendanceService {
 
 	private final EmployeeRepository employeeRepo = new EmployeeRepository();
 	private final AttendanceRepository attendanceRepo = new AttendanceRepository();
+	private final TimeSource clock;
 
-	// ✅ 누락됐던 상수 정의
-	private static final ZoneId KST = ZoneId.of("Asia/Seoul");
 	private static final DateTimeFormatter D = DateTimeFormatter.ofPattern("uuuu-MM-dd")
 			.withResolverStyle(ResolverStyle.STRICT);
-	private static final DateTimeFormatter T = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+	public AttendanceService() { this(TimeSource.system()); }
+
+	/** clock: "지금" 출/퇴근에 쓸 시계 (테스트/소급 입력용) */
+	public AttendanceService(TimeSource clock) {
+		this.clock = clock;
+	}
 
     /* ====================
        출근/퇴근 등록
@@ -30,39 +38,76 @@ public class AttendanceService {
 
 	/** 지금 출근 */
 	public void clockIn(String empNo, String memo) throws SQLException {
-		ZonedDateTime now = ZonedDateTime.now(KST);
-		attendanceRepo.clockIn(empNo, now.format(D), now.format(T), memo);
+		Stamp now = clock.now();
+		attendanceRepo.clockIn(empNo, now.date(), now.time(), memo);
 	}
 
 	/** 지정일/시각 출근 (비어있으면 현재로 보정) */
 	public void clockInAt(String empNo, String yyyyMMdd, String hhmmOrHhmmss, String memo) throws SQLException {
-		ZonedDateTime now = ZonedDateTime.now(KST);
-		String date = (yyyyMMdd == null || yyyyMMdd.isBlank()) ? now.format(D) : normalizeDate(yyyyMMdd);
-		String time = (hhmmOrHhmmss == null || hhmmOrHhmmss.isBlank()) ? now.format(T) : normalizeTime(hhmmOrHhmmss);
+		Stamp now = clock.now();
+		String date = (yyyyMMdd == null || yyyyMMdd.isBlank()) ? now.date() : normalizeDate(yyyyMMdd);
+		String time = (hhmmOrHhmmss == null || hhmmOrHhmmss.isBlank()) ? now.time() : normalizeTime(hhmmOrHhmmss);
 		attendanceRepo.clockIn(empNo, date, time, memo);
 	}
 
 	/** 지금 퇴근 */
 	public void clockOut(String empNo) throws SQLException {
-		ZonedDateTime now = ZonedDateTime.now(KST);
-		attendanceRepo.clockOut(empNo, now.format(D), now.format(T));
+		Stamp now = clock.now();
+		attendanceRepo.clockOut(empNo, now.date(), now.time());
 	}
 
 	/** 지정일/시각 퇴근 (비어있으면 현재로 보정) */
 	public void clockOutAt(String empNo, String yyyyMMdd, String hhmmOrHhmmss) throws SQLException {
-		ZonedDateTime now = ZonedDateTime.now(KST);
-		String date = (yyyyMMdd == null || yyyyMMdd.isBlank()) ? now.format(D) : normalizeDate(yyyyMMdd);
-		String time = (hhmmOrHhmmss == null || hhmmOrHhmmss.isBlank()) ? now.format(T) : normalizeTime(hhmmOrHhmmss);
+		Stamp now = clock.now();
+		String date = (yyyyMMdd == null || yyyyMMdd.isBlank()) ? now.date() : normalizeDate(yyyyMMdd);
+		String time = (hhmmOrHhmmss == null || hhmmOrHhmmss.isBlank()) ? now.time() : normalizeTime(hhmmOrHhmmss);
 		attendanceRepo.clockOut(empNo, date, time);
 	}
 
+	/**
+	 * 출/퇴근 일괄 등록 (관리자 소급 입력, 단말기 하루치 업로드 등)
+	 * - 항목별 검증: 사번 필수, 날짜/시각 형식 (비어있으면 현재로 보정)
+	 * - 검증 통과분만 입력 순서대로 한 트랜잭션에 반영
+	 * - 결과는 입력과 같은 순서/개수로 반환 (검증 실패·미퇴근 없음은 항목별 표시)
+	 */
+	public List<PunchResult> applyPunches(List<Punch> punches) throws SQLException {
+		Stamp now = clock.now();
+		String today = now.date(), nowTime = now.time();
+
+		PunchResult[] results = new PunchResult[punches.size()];
+		List<Punch> valid = new ArrayList<>(punches.size());
+		int[] validIndex = new int[punches.size()];
+		for (int i = 0; i < punches.size(); i++) {
+			Punch p = punches.get(i);
+			try {
+				if (p == null || p.type() == null) throw new IllegalArgumentException("출근/퇴근 구분이 없습니다.");
+				if (p.empNo() == null || p.empNo().isBlank()) throw new IllegalArgumentException("사번이 비어있습니다.");
+				String date = (p.date() == null || p.date().isBlank()) ? today : normalizeDate(p.date());
+				String time = (p.time() == null || p.time().isBlank()) ? nowTime : normalizeTime(p.time());
+				validIndex[valid.size()] = i;
+				valid.add(new Punch(p.type(), p.empNo().trim(), date, time, p.memo()));
+			} catch (RuntimeException ex) { // DateTimeParseException 포함
+				results[i] = new PunchResult(i, p, PunchResult.Status.INVALID, ex.getMessage());
+			}
+		}
+
+		int[] counts = attendanceRepo.applyPunches(valid);
+		for (int k = 0; k < valid.size(); k++) {
+			int i = validIndex[k];
+			Punch p = valid.get(k);
+			results[i] = (counts[k] == 0)
+					? new PunchResult(i, p, PunchResult.Status.NO_OPEN_SHIFT, "미퇴근 출근 기록이 없습니다: " + p.empNo())
+					: new PunchResult(i, p, PunchResult.Status.OK, null);
+		}
+		return List.of(results);
+	}
+
     /* ====================
        조회
        ==================== */
 
 	public List<AttendanceRecord> todayRecords() throws SQLException {
-		String today = ZonedDateTime.now(KST).format(D);
-		return attendanceRepo.findByDate(today);
+		return attendanceRepo.findByDate(clock.now().date());
 	}
 
 	public List<AttendanceRecord> recordsAt(String yyyyMMdd) throws SQLException {
@@ -74,18 +119,49 @@ public class AttendanceService {
 		return attendanceRepo.findByMonth(yyyyMM);
 	}
 
+	/** 사번 지정 일별 조회 (empNo가 비어있으면 전체) */
+	public List<AttendanceRecord> recordsAt(String yyyyMMdd, String empNo) throws SQLException {
+		if (empNo == null || empNo.isBlank()) return recordsAt(yyyyMMdd);
+		return attendanceRepo.findByEmpAndDate(empNo, normalizeDate(yyyyMMdd));
+	}
+
+	/** 사번 지정 월별 조회 (empNo가 비어있으면 전체) */
+	public List<AttendanceRecord> recordsInMonth(String yyyyMM, String empNo) throws SQLException {
+		if (empNo == null || empNo.isBlank()) return recordsInMonth(yyyyMM);
+		YearMonth.parse(yyyyMM); // "uuuu-MM" 형식 엄격 검증
+		return attendanceRepo.findByEmpAndMonth(empNo, yyyyMM);
+	}
+
+	/** 월별 사번별 근무 분 합계 (SQL 집계, 출/퇴근이 모두 있는 기록만) */
+	public java.util.Map<String, Long> workMinutesInMonth(String yyyyMM) throws SQLException {
+		YearMonth m = YearMonth.parse(yyyyMM);
+		return attendanceRepo.sumWorkMinutesByEmp(m.atDay(1).toString(), m.plusMonths(1).atDay(1).toString());
+	}
+
     /* ====================
        보조
        ==================== */
 
-	private static String normalizeDate(String s) {
-		LocalDate.parse(s, D); // 형식 검증
+	/** yyyy-MM-dd 엄격 검증 (CSV 가져오기에서도 사용) */
+	static String normalizeDate(String s) {
+		if (FixedTime.epochDay(s) != FixedTime.INVALID) return s;
+		LocalDate.parse(s, D); // 오류 → 기존과 같은 DateTimeParseException (메시지 포함)
 		return s;
 	}
 
-	private static String normalizeTime(String s) {
-		if (s.matches("^\\d{2}:\\d{2}$")) return s + ":00";
-		if (s.matches("^\\d{2}:\\d{2}:\\d{2}$")) return s;
+	/** HH:mm → HH:mm:ss 보정, 그 외 형식은 IllegalArgumentException (숫자 자리만 확인, 범위는 보지 않음) */
+	static String normalizeTime(String s) {
+		int len = s.length();
+		if ((len == 5 || len == 8) && digitsAt(s, 0) && s.charAt(2) == ':' && digitsAt(s, 3)) {
+			if (len == 5) return s + ":00";
+			if (s.charAt(5) == ':' && digitsAt(s, 6)) return s;
+		}
 		throw new IllegalArgumentException("시각 형식은 HH:mm 또는 HH:mm:ss 이어야 합니다.");
 	}
+
+	/** s[i], s[i + 1] 이 ASCII 숫자 */
+	private static boolean digitsAt(String s, int i) {
+		char a = s.charAt(i), b = s.charAt(i + 1);
+		return a >= '0' && a <= '9' && b >= '0' && b <= '9';
+	}
 }
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.maemong.attendance.service;
+
+import com.maemong.attendance.model.Employee;
+import com.maemong.attendance.repository.EmployeeRepository;
+import com.maemong.attendance.repository.EmployeeRepository.UpsertSummary;
+import com.maemong.attendance.util.CsvUtil;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 직원 명부 CSV 일괄 등록/갱신
+ * - CsvUtil 형식(UTF-8 BOM, 큰따옴표 인용)을 스트리밍으로 읽어 청크 단위 upsert
+ * - 헤더 이름으로 컬럼 매핑: 사번(필수) / 이름, 직급, 주민등록번호, 전화번호, 시급, 은행, 계좌번호, 주소, 계약일, 비고
+ * - CSV에 없는 컬럼은 기존 직원의 값을 유지 (신규 직원은 빈 값)
+ * - 값이 모두 같은 직원은 다시 쓰지 않고 unchanged 로 집계
+ */
+public class EmployeeRosterImporter {
+
+	public static final int MAX_ERRORS = 100;
+	/** 한 번에 upsert 로 넘기는 행 수 (리포지토리 트랜잭션 단위와 맞춤) */
+	private static final int CHUNK = 500;
+
+	/** 가져오기 결과 (summary: 신규/갱신/변경없음, rowsInvalid: 검증 실패로 건너뛴 행) */
+	public record Result(UpsertSummary summary, long rowsInvalid, List<String> errors) {}
+
+	private final EmployeeRepository employeeRepo = new EmployeeRepository();
+
+	/** 메모리의 직원 목록 일괄 upsert (모든 컬럼 갱신) */
+	public UpsertSummary importList(List<Employee> list) throws SQLException {
+		return employeeRepo.upsertAll(list);
+	}
+
+	public Result importFile(File file) throws IOException, SQLException {
+		List<Employee> chunk = new ArrayList<>(CHUNK);
+		List<String> errors = new ArrayList<>();
+		UpsertSummary summary = UpsertSummary.EMPTY;
+		long recordNo = 0, invalid = 0;
+
+		try (Reader in = CsvUtil.newUtf8BomReader(Files.newInputStream(file.toPath()))) {
+			String[] header = CsvUtil.readRecord(in);
+			if (header == null) throw new IOException("빈 파일입니다.");
+			Columns cols = Columns.of(header);
+
+			String[] cells;
+			while ((cells = CsvUtil.readRecord(in)) != null) {
+				if (isBlankRecord(cells)) continue;
+				recordNo++;
+				try {
+					chunk.add(cols.toEmployee(cells));
+				} catch (RuntimeException ex) {
+					invalid++;
+					if (errors.size() < MAX_ERRORS) errors.add("데이터 " + recordNo + "행: " + ex.getMessage());
+				}
+				if (chunk.size() >= CHUNK) {
+					summary = summary.plus(employeeRepo.upsertAll(chunk, cols.present()));
+					chunk.clear();
+				}
+			}
+			if (!chunk.isEmpty()) summary = summary.plus(employeeRepo.upsertAll(chunk, cols.present()));
+		}
+		return new Result(summary, invalid, List.copyOf(errors));
+	}
+
+	private static boolean isBlankRecord(String[] cells) {
+		for (String c : cells) if (!c.isBlank()) return false;
+		return true;
+	}
+
+	/* ===================== 헤더 매핑 / 행 변환 ===================== */
+
+	/** idx: EmployeeRepository.COLUMNS 순서의 CSV 위치(-1=없음), present: CSV에 있는 컬럼명 */
+	private record Columns(int empNo, int[] idx, Set<String> present) {
+
+		static Columns of(String[] header) throws IOException {
+			int empNo = -1;
+			int[] idx = new int[EmployeeRepository.COLUMNS.size()];
+			java.util.Arrays.fill(idx, -1);
+			for (int i = 0; i < header.length; i++) {
+				String col = switch (header[i].trim().toLowerCase(Locale.ROOT)) {
+					case "사번", "emp_no"                     -> "emp_no";
+					case "이름", "name"                       -> "name";
+					case "직급", "position"                   -> "position";
+					case "주민등록번호", "주민번호", "rrn"       -> "rrn";
+					case "전화번호", "전화", "phone"            -> "phone";
+					case "시급", "wage"                       -> "wage";
+					case "은행", "bank"                       -> "bank";
+					case "계좌번호", "계좌", "account"          -> "account";
+					case "주소", "address"                    -> "address";
+					case "계약일", "contract_date"            -> "contract_date";
+					case "비고", "메모", "memo"                -> "memo";
+					default -> null; // 알 수 없는 컬럼은 무시
+				};
+				if (col == null) continue;
+				if (col.equals("emp_no")) empNo = i;
+				else idx[EmployeeRepository.COLUMNS.indexOf(col)] = i;
+			}
+			if (empNo < 0) throw new IOException("헤더에 '사번' 컬럼이 필요합니다.");
+
+			Set<String> present = new LinkedHashSet<>();
+			for (int k = 0; k < idx.length; k++) if (idx[k] >= 0) present.add(EmployeeRepository.COLUMNS.get(k));
+			return new Columns(empNo, idx, Set.copyOf(present));
+		}
+
+		Employee toEmployee(String[] cells) {
+			String no = cell(cells, empNo);
+			if (no.isEmpty()) throw new IllegalArgumentException("사번이 비어있습니다.");
+			String wage = cell(cells, "wage").replace(",", "");
+			int w;
+			try {
+				w = wage.isEmpty() ? 0 : Integer.parseInt(wage);
+			} catch (NumberFormatException ex) {
+				throw new IllegalArgumentException("시급이 숫자가 아닙니다: " + wage);
+			}
+			if (w < 0) throw new IllegalArgumentException("시급은 0 이상이어야 합니다: " + w);
+			return new Employee(no,
+					cell(cells, "name"), cell(cells, "position"), cell(cells, "rrn"), cell(cells, "phone"),
+					w,
+					cell(cells, "bank"), cell(cells, "account"), cell(cells, "address"), cell(cells, "contract_date"),
+					cell(cells, "memo"));
+		}
+
+		/** 컬럼명으로 셀 찾기 (위치는 EmployeeRepository.COLUMNS 순서를 따름) */
+		private String cell(String[] cells, String col) {
+			return cell(cells, idx[EmployeeRepository.COLUMNS.indexOf(col)]);
+		}
+
+		/** 없는 컬럼은 빈 문자열 (리포지토리 저장 규칙과 동일) */
+		private static String cell(String[] cells, int i) {
+			return (i < 0 || i >= cells.length) ? "" : cells[i].trim();
+		}
+	}
+}
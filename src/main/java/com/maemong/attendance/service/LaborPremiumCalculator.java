@@ -0,0 +1,188 @@
+package com.maemong.attendance.service;
+
+import com.maemong.attendance.model.AttendanceRecord;
+import com.maemong.attendance.model.Employee;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 근로기준법 가산수당 계산 (야간 / 연장 / 휴일 / 주휴)
+ * - 기록의 epoch 초(AttendanceRecord#getStartEpochSecond) 구간을 06:00, 22:00, 24:00 경계에서 잘라 분류 (정수 초 연산만)
+ *   · 야간 (22:00~06:00)          : +0.5
+ *   · 연장 (1일 8시간 / 1주 40시간 초과) : +0.5  (1일은 출근일 기준 — 자정을 넘긴 근무는 출근일의 근로)
+ *   · 휴일 (주휴일/공휴일 달력 날짜 안) : +0.5, 그날 8시간 초과분 +1.0  (휴일 근로는 1일/1주 연장 계산에서 제외)
+ *   · 야간은 연장/휴일과 겹쳐도 따로 가산
+ * - 주휴수당: 1주(weekStart 부터 7일) 소정 근로(휴일/연장 제외)가 15시간 이상이면 min(그 시간, 40시간) / 40 × 8시간
+ *   (개근 여부는 근무표가 없어 확인하지 않음)
+ * - 일별 배열의 누적합으로 주 단위 창을 밀며 합산 → 기간이 길어도 직원당 O(일수 + 근무 수)
+ * - 금액: 시급 × 초 / 3600 (항목별 원 미만 버림). premiums=false (상시 5인 미만) 면 야간/연장/휴일 가산 없이 기본급 + 주휴만
+ */
+public class LaborPremiumCalculator {
+
+	static final int DAY = 86_400;
+	static final int HOUR = 3_600;
+	static final int NIGHT_END = 6 * HOUR;
+	static final int NIGHT_START = 22 * HOUR;
+	static final int DAILY_LIMIT = 8 * HOUR;
+	static final int WEEKLY_LIMIT = 40 * HOUR;
+	static final int WEEKLY_HOLIDAY_MIN = 15 * HOUR;
+
+	/**
+	 * 계산 규칙
+	 * - weekStart     : 주 시작 요일 (주휴/주 40시간 창의 첫날)
+	 * - weeklyHoliday : 주휴일
+	 * - holidays      : 그 밖의 휴일 (epoch day, 공휴일/근로자의 날 등). 생성 시 복사·정렬, 조회 시 복사본
+	 *                   → 만든 뒤 바꿀 수 없음, equals/hashCode 는 배열 내용 기준
+	 * - premiums      : 가산수당 적용 (상시 5인 미만이면 false)
+	 */
+	public record Rules(DayOfWeek weekStart, DayOfWeek weeklyHoliday, int[] holidays, boolean premiums) {
+		public static final Rules DEFAULT = new Rules(DayOfWeek.MONDAY, DayOfWeek.SUNDAY, new int[0], true);
+
+		public Rules {
+			holidays = holidays.clone();
+			Arrays.sort(holidays);
+		}
+
+		@Override public int[] holidays() { return holidays.clone(); }
+
+		@Override public boolean equals(Object o) {
+			return o instanceof Rules r && weekStart == r.weekStart && weeklyHoliday == r.weeklyHoliday
+					&& premiums == r.premiums && Arrays.equals(holidays, r.holidays);
+		}
+
+		@Override public int hashCode() {
+			return Objects.hash(weekStart, weeklyHoliday, premiums) * 31 + Arrays.hashCode(holidays);
+		}
+
+		@Override public String toString() {
+			return "Rules[weekStart=" + weekStart + ", weeklyHoliday=" + weeklyHoliday
+					+ ", holidays=" + Arrays.toString(holidays) + ", premiums=" + premiums + "]";
+		}
+
+		boolean isHoliday(long epochDay) {
+			// 1970-01-01 은 목요일 (DayOfWeek 값 4)
+			int dow = Math.floorMod(epochDay + 3, 7) + 1;
+			return dow == weeklyHoliday.getValue() || Arrays.binarySearch(holidays, (int) epochDay) >= 0;
+		}
+	}
+
+	/**
+	 * 직원 한 명의 기간 결과 (시간은 초, 금액은 원)
+	 * - workedSec      : 전체 근무 (휴일 포함)
+	 * - nightSec       : 그중 22:00~06:00
+	 * - overtimeSec    : 1일 8시간 초과 + 그 외 1주 40시간 초과
+	 * - holidaySec     : 휴일 근무, holidayOver8Sec: 그중 휴일 하루 8시간 초과분
+	 * - weeklyHolidaySec : 주휴로 유급 처리되는 시간 (근무가 아님)
+	 */
+	public record Result(String empNo, int wage,
+	                     long workedSec, long nightSec, long overtimeSec, long holidaySec, long holidayOver8Sec,
+	                     long weeklyHolidaySec,
+	                     long basePay, long nightPay, long overtimePay, long holidayPay, long weeklyHolidayPay) {
+		public long totalPay() { return basePay + nightPay + overtimePay + holidayPay + weeklyHolidayPay; }
+	}
+
+	private final Rules rules;
+
+	public LaborPremiumCalculator() { this(Rules.DEFAULT); }
+
+	public LaborPremiumCalculator(Rules rules) {
+		this.rules = rules;
+	}
+
+	/** 직원별 계산 (records 는 여러 직원이 섞여 있어도 됨). 결과는 roster 순서, 명부 밖 사번은 시급 0 으로 뒤에 */
+	public Map<String, Result> computeAll(List<Employee> roster, List<AttendanceRecord> records) {
+		Map<String, List<AttendanceRecord>> byEmp = new LinkedHashMap<>();
+		for (Employee e : roster) byEmp.put(e.getEmpNo(), new ArrayList<>());
+		for (AttendanceRecord r : records) byEmp.computeIfAbsent(r.getEmpNo(), k -> new ArrayList<>()).add(r);
+
+		Map<String, Integer> wages = new HashMap<>(roster.size() * 2);
+		for (Employee e : roster) wages.put(e.getEmpNo(), e.getWage());
+
+		Map<String, Result> out = new LinkedHashMap<>();
+		byEmp.forEach((empNo, rs) -> out.put(empNo, compute(empNo, wages.getOrDefault(empNo, 0), rs)));
+		return out;
+	}
+
+	/** 직원 한 명 (records 는 그 직원의 기록) */
+	public Result compute(Employee e, List<AttendanceRecord> records) {
+		return compute(e.getEmpNo(), e.getWage(), records);
+	}
+
+	private Result compute(String empNo, int wage, List<AttendanceRecord> records) {
+		// 1) 구간 [start, end) 를 epoch 초로 (출/퇴근이 모두 있고 길이가 양수인 기록만)
+		int n = 0;
+		long[] start = new long[records.size()], end = new long[records.size()];
+		long minDay = Long.MAX_VALUE, maxDay = Long.MIN_VALUE;
+		for (AttendanceRecord r : records) {
+			long s = r.getStartEpochSecond(), t = r.getEndEpochSecond(); // 자정 넘김은 퇴근일(out_date) 반영
+			if (s == AttendanceRecord.NO_TIME || t == AttendanceRecord.NO_TIME || t <= s) continue;
+			start[n] = s;
+			end[n] = t;
+			n++;
+			minDay = Math.min(minDay, Math.floorDiv(s, DAY));
+			maxDay = Math.max(maxDay, Math.floorDiv(t - 1, DAY));
+		}
+		if (n == 0) return new Result(empNo, wage, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+		// 2) 일별 배열: 주 시작 요일에 맞춘 첫날부터 주 단위 길이
+		long first = minDay - Math.floorMod(minDay + 3 - (rules.weekStart().getValue() - 1), 7);
+		int days = (int) ((maxDay - first) / 7 + 1) * 7;
+		int[] work = new int[days];    // 출근일 기준 평일 근무 초
+		int[] holiday = new int[days]; // 달력 날짜 기준 휴일 근무 초
+		long night = 0;
+
+		for (int k = 0; k < n; k++) {
+			int workDay = (int) (Math.floorDiv(start[k], DAY) - first);
+			long t = start[k];
+			while (t < end[k]) {
+				long day = Math.floorDiv(t, DAY);
+				int sod = (int) (t - day * DAY);
+				int boundary = sod < NIGHT_END ? NIGHT_END : sod < NIGHT_START ? NIGHT_START : DAY;
+				long segEnd = Math.min(end[k], day * DAY + boundary);
+				int len = (int) (segEnd - t);
+				if (sod < NIGHT_END || sod >= NIGHT_START) night += len;
+				if (rules.isHoliday(day)) holiday[(int) (day - first)] += len;
+				else work[workDay] += len;
+				t = segEnd;
+			}
+		}
+
+		// 3) 1일 연장 / 휴일 8시간 초과, 소정 근로 누적합
+		long worked = 0, dailyOt = 0, hol = 0, holOver = 0;
+		long[] regular = new long[days + 1]; // regular[d] = d 전날까지 소정 근로 합
+		for (int d = 0; d < days; d++) {
+			int ot = Math.max(0, work[d] - DAILY_LIMIT);
+			dailyOt += ot;
+			hol += holiday[d];
+			holOver += Math.max(0, holiday[d] - DAILY_LIMIT);
+			worked += work[d] + holiday[d];
+			regular[d + 1] = regular[d] + work[d] - ot;
+		}
+
+		// 4) 주 단위 창: 40시간 초과 연장 + 주휴
+		long weeklyOt = 0, weeklyHoliday = 0;
+		for (int w = 0; w < days; w += 7) {
+			long reg = regular[w + 7] - regular[w];
+			weeklyOt += Math.max(0, reg - WEEKLY_LIMIT);
+			if (reg >= WEEKLY_HOLIDAY_MIN) weeklyHoliday += Math.min(reg, WEEKLY_LIMIT) / 5; // × 8h / 40h
+		}
+		long overtime = dailyOt + weeklyOt;
+
+		// 5) 금액 (시급 × 초 / 3600, 가산 0.5 는 / 7200)
+		boolean p = rules.premiums();
+		long w = wage;
+		return new Result(empNo, wage, worked, night, overtime, hol, holOver, weeklyHoliday,
+				w * worked / HOUR,
+				p ? w * night / (2 * HOUR) : 0,
+				p ? w * overtime / (2 * HOUR) : 0,
+				p ? w * (hol + holOver) / (2 * HOUR) : 0,
+				w * weeklyHoliday / HOUR);
+	}
+}
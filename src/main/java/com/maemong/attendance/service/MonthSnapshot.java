@@ -0,0 +1,206 @@
+package com.maemong.attendance.service;
+
+import com.maemong.attendance.model.Employee;
+import com.maemong.attendance.repository.AttendanceRepository;
+import com.maemong.attendance.repository.EmployeeDirectory;
+
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 한 달 근무 기록의 열(column) 스냅샷 — 집계용, 만든 뒤 읽기 전용 (여러 스레드에서 동시에 읽어도 됨)
+ * - 행(출/퇴근이 모두 있는 기록)마다 직원 번호 short / 날짜(월 내 0부터) short / 출근 초 int / 퇴근 초 int
+ *   · 출근 초: 그날 0시부터 (0 ~ 86399), 퇴근 초: 같은 0시부터 (자정을 넘기면 86400 이상)
+ * - 직원은 사전 인코딩: 번호 → 사번/이름/시급 (명부 순서, 명부에 없는 사번은 뒤에 시급 0)
+ * - 행은 (직원, 날짜) 순으로 정렬해 둠 → 직원별 묶음은 rowsFrom(e) ~ rowsTo(e) 연속 구간
+ * - 날짜별 묶음은 행 번호 순열(dayRows) 로 → 날짜 d 의 행은 dayRows[dayFrom(d) .. dayFrom(d + 1))
+ * - AttendanceRepository.forEachShift 커서에서 바로 채움 (기록 객체/문자열 행을 만들지 않음)
+ */
+public final class MonthSnapshot {
+
+	/** 행 방문 콜백 */
+	@FunctionalInterface
+	public interface RowVisitor {
+		void visit(int emp, int day, int inSec, int outSec);
+	}
+
+	private final YearMonth month;
+	private final String[] empNos;
+	private final String[] names;
+	private final int[] wages;
+
+	private final short[] emp;
+	private final short[] day;
+	private final int[] in;
+	private final int[] out;
+
+	/** 직원 e 의 행: [empFrom[e], empFrom[e + 1]) */
+	private final int[] empFrom;
+	/** 날짜순 행 번호, 날짜 d 의 위치: [dayFrom[d], dayFrom[d + 1]) */
+	private final int[] dayRows;
+	private final int[] dayFrom;
+
+	private MonthSnapshot(YearMonth month, String[] empNos, String[] names, int[] wages,
+	                      short[] emp, short[] day, int[] in, int[] out, int[] empFrom, int[] dayRows, int[] dayFrom) {
+		this.month = month;
+		this.empNos = empNos;
+		this.names = names;
+		this.wages = wages;
+		this.emp = emp;
+		this.day = day;
+		this.in = in;
+		this.out = out;
+		this.empFrom = empFrom;
+		this.dayRows = dayRows;
+		this.dayFrom = dayFrom;
+	}
+
+	/** 현재 점포의 직원 명부 + 그달 근무 기록으로 생성 */
+	public static MonthSnapshot load(YearMonth month) throws SQLException {
+		return load(month, EmployeeDirectory.current().listAll(), new AttendanceRepository());
+	}
+
+	static MonthSnapshot load(YearMonth month, List<Employee> roster, AttendanceRepository repo) throws SQLException {
+		List<String> empNos = new ArrayList<>(roster.size());
+		List<String> names = new ArrayList<>(roster.size());
+		int[][] wages = {new int[Math.max(16, roster.size())]};
+		Map<String, Integer> index = new HashMap<>(roster.size() * 2);
+		for (Employee e : roster) {
+			index.put(e.getEmpNo(), empNos.size());
+			wages[0][empNos.size()] = e.getWage();
+			empNos.add(e.getEmpNo());
+			names.add(e.getName());
+		}
+
+		// 커서 순서대로 임시 열에 받음 (직원 번호 / 월초 기준 시작·종료 초)
+		int[][] cols = {new int[1024], new int[1024], new int[1024]};
+		int[] n = {0};
+		repo.forEachShift(month.atDay(1).toString(), month.plusMonths(1).atDay(1).toString(), (empNo, s, t) -> {
+			Integer i = index.get(empNo);
+			if (i == null) { // 명부에 없는 사번 → 시급 0
+				i = empNos.size();
+				index.put(empNo, i);
+				empNos.add(empNo);
+				names.add(null);
+				if (i == wages[0].length) wages[0] = Arrays.copyOf(wages[0], i * 2);
+			}
+			if (n[0] == cols[0].length) {
+				for (int c = 0; c < 3; c++) cols[c] = Arrays.copyOf(cols[c], n[0] * 2);
+			}
+			cols[0][n[0]] = i;
+			cols[1][n[0]] = s;
+			cols[2][n[0]] = t;
+			n[0]++;
+		});
+		if (empNos.size() > Short.MAX_VALUE + 1) throw new IllegalStateException("직원 수가 너무 많습니다: " + empNos.size());
+		return build(month, empNos.toArray(new String[0]), names.toArray(new String[0]),
+				Arrays.copyOf(wages[0], empNos.size()), cols[0], cols[1], cols[2], n[0]);
+	}
+
+	/** 임시 열 → (직원, 날짜) 순 정렬 열 (날짜 → 직원 순 안정 계수 정렬 두 번) */
+	private static MonthSnapshot build(YearMonth month, String[] empNos, String[] names, int[] wages,
+	                                   int[] rawEmp, int[] rawStart, int[] rawEnd, int size) {
+		int days = month.lengthOfMonth();
+		int employees = empNos.length;
+
+		// 날짜별 위치 (안정) → dayRows 는 아직 원래 행 번호
+		int[] dayFrom = new int[days + 1];
+		for (int k = 0; k < size; k++) dayFrom[rawStart[k] / 86_400 + 1]++;
+		for (int d = 0; d < days; d++) dayFrom[d + 1] += dayFrom[d];
+		int[] byDay = new int[size];
+		int[] fill = Arrays.copyOf(dayFrom, days);
+		for (int k = 0; k < size; k++) byDay[fill[rawStart[k] / 86_400]++] = k;
+
+		// 날짜순을 유지하며 직원별로 (안정) → 최종 행 순서
+		int[] empFrom = new int[employees + 1];
+		for (int k = 0; k < size; k++) empFrom[rawEmp[k] + 1]++;
+		for (int e = 0; e < employees; e++) empFrom[e + 1] += empFrom[e];
+		fill = Arrays.copyOf(empFrom, employees);
+		short[] emp = new short[size];
+		short[] day = new short[size];
+		int[] in = new int[size];
+		int[] out = new int[size];
+		int[] rowOf = new int[size]; // 원래 행 → 최종 행
+		for (int j = 0; j < size; j++) {
+			int k = byDay[j];
+			int at = fill[rawEmp[k]]++;
+			int d = rawStart[k] / 86_400;
+			emp[at] = (short) rawEmp[k];
+			day[at] = (short) d;
+			in[at] = rawStart[k] - d * 86_400;
+			out[at] = rawEnd[k] - d * 86_400;
+			rowOf[k] = at;
+		}
+		for (int j = 0; j < size; j++) byDay[j] = rowOf[byDay[j]]; // 날짜순 순열을 최종 행 번호로
+
+		return new MonthSnapshot(month, empNos, names, wages, emp, day, in, out, empFrom, byDay, dayFrom);
+	}
+
+	/* ===================== 조회 ===================== */
+
+	public YearMonth month() { return month; }
+	public int size() { return emp.length; }
+	public int days() { return dayFrom.length - 1; }
+
+	/* ----- 직원 사전 ----- */
+	public int employees() { return empNos.length; }
+	public String empNo(int e) { return empNos[e]; }
+	/** 명부에 없는 사번이면 null */
+	public String name(int e) { return names[e]; }
+	public int wage(int e) { return wages[e]; }
+
+	/* ----- 행 ----- */
+	public int emp(int row) { return emp[row]; }
+	/** 월 내 날짜 (1일 = 0) */
+	public int day(int row) { return day[row]; }
+	public int inSec(int row) { return in[row]; }
+	public int outSec(int row) { return out[row]; }
+	/** 근무 분 (0 쪽으로 버림, AttendanceRecord.getWorkMinutes 와 같은 규칙) */
+	public int minutes(int row) { return (out[row] - in[row]) / 60; }
+
+	/* ----- 묶음 ----- */
+	public int rowsFrom(int e) { return empFrom[e]; }
+	public int rowsTo(int e) { return empFrom[e + 1]; }
+	public int dayFrom(int d) { return dayFrom[d]; }
+	public int dayTo(int d) { return dayFrom[d + 1]; }
+	/** 날짜순 i 번째 행 번호 (i 는 dayFrom(d) ~ dayTo(d) - 1) */
+	public int dayRow(int i) { return dayRows[i]; }
+
+	/** 전체 행 순회 ((직원, 날짜) 순) */
+	public void scan(RowVisitor v) {
+		for (int k = 0; k < emp.length; k++) v.visit(emp[k], day[k], in[k], out[k]);
+	}
+
+	/** 직원별 근무 분 합계 (직원 번호 → 분) */
+	public long[] minutesByEmployee() {
+		long[] sum = new long[employees()];
+		for (int e = 0; e < sum.length; e++) {
+			long m = 0;
+			for (int k = empFrom[e]; k < empFrom[e + 1]; k++) m += (out[k] - in[k]) / 60;
+			sum[e] = m;
+		}
+		return sum;
+	}
+
+	/** 날짜별 근무 분 합계 (출근일 기준, 1일 = 0) */
+	public long[] minutesByDay() {
+		long[] sum = new long[days()];
+		for (int k = 0; k < emp.length; k++) sum[day[k]] += (out[k] - in[k]) / 60;
+		return sum;
+	}
+
+	/** 날짜별 출근한 직원 수 (같은 날 여러 번 출근해도 1명) */
+	public int[] headcountByDay() {
+		int[] count = new int[days()];
+		for (int k = 0; k < emp.length; k++) {
+			// (직원, 날짜) 순 정렬 → 앞 행과 직원/날짜가 같으면 이미 셈
+			if (k == 0 || emp[k] != emp[k - 1] || day[k] != day[k - 1]) count[day[k]]++;
+		}
+		return count;
+	}
+}
@@ -0,0 +1,85 @@
+package com.maemong.attendance.service;
+
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 월 급여 계산 (시급 × 근무 시간)
+ * - 한 달 근무 기록을 MonthSnapshot 열(직원 번호 / 날짜 / 출근 초 / 퇴근 초)로 한 번에 읽음 → 기록 객체를 만들지 않음
+ * - 스냅샷은 직원별 행이 붙어 있음 → 직원 구간을 나눠 fork-join 으로 병렬 계산
+ * - 직원마다 행을 한 번 훑으며 근무 분과 총액을 같이 구함
+ * - 근무 분: 행마다 (퇴근 - 출근) 초 / 60 (0 쪽으로 버림) 을 합산 → AttendanceService.workMinutesInMonth 와 같은 값
+ * - 총액: 시급 × 근무 분 / 60 (원 미만 버림)
+ * - 직원 명부에 없는 사번의 기록도 시급 0 으로 포함 (삭제된 직원 확인용)
+ */
+public class PayrollEngine {
+
+	/** fork-join 에서 한 작업이 맡는 최대 직원 수 */
+	static final int EMPLOYEES_PER_TASK = 32;
+
+	/** 직원별 결과 */
+	public record Line(String empNo, String name, int wage, int shifts, long minutes, long gross) {}
+
+	/** 월 결과 (lines: 기록이 있는 직원만, 사번 오름차순) */
+	public record Payroll(YearMonth month, List<Line> lines, long totalMinutes, long totalGross) {}
+
+	/** yyyy-MM 한 달 급여 (현재 점포) */
+	public Payroll compute(YearMonth month) throws SQLException {
+		return compute(MonthSnapshot.load(month));
+	}
+
+	/** 이미 읽어 둔 스냅샷으로 계산 (같은 달 다른 집계와 스냅샷 공유) */
+	public Payroll compute(MonthSnapshot m) {
+		int n = m.employees();
+		long[] minutes = new long[n];
+		long[] gross = new long[n];
+		ForkJoinPool.commonPool().invoke(new Slice(m, 0, n, minutes, gross));
+
+		List<Line> lines = new ArrayList<>();
+		long totalMinutes = 0, totalGross = 0;
+		for (int e = 0; e < n; e++) {
+			int shifts = m.rowsTo(e) - m.rowsFrom(e);
+			if (shifts == 0) continue;
+			lines.add(new Line(m.empNo(e), m.name(e), m.wage(e), shifts, minutes[e], gross[e]));
+			totalMinutes += minutes[e];
+			totalGross += gross[e];
+		}
+		lines.sort((a, b) -> a.empNo().compareTo(b.empNo())); // 명부 밖 사번이 뒤에 붙어 있음
+		return new Payroll(m.month(), lines, totalMinutes, totalGross);
+	}
+
+	/** 직원 [lo, hi) 계산 (EMPLOYEES_PER_TASK 명 이하가 될 때까지 반으로 나눔) */
+	private static final class Slice extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final transient MonthSnapshot m;
+		private final int lo, hi;
+		private final long[] minutes, gross;
+
+		Slice(MonthSnapshot m, int lo, int hi, long[] minutes, long[] gross) {
+			this.m = m;
+			this.lo = lo;
+			this.hi = hi;
+			this.minutes = minutes;
+			this.gross = gross;
+		}
+
+		@Override protected void compute() {
+			if (hi - lo > EMPLOYEES_PER_TASK) {
+				int mid = (lo + hi) >>> 1;
+				invokeAll(new Slice(m, lo, mid, minutes, gross), new Slice(m, mid, hi, minutes, gross));
+				return;
+			}
+			for (int e = lo; e < hi; e++) {
+				long sum = 0;
+				for (int k = m.rowsFrom(e); k < m.rowsTo(e); k++) sum += m.minutes(k);
+				minutes[e] = sum;
+				gross[e] = m.wage(e) * sum / 60;
+			}
+		}
+	}
+}
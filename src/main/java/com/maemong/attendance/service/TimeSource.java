@@ -0,0 +1,88 @@
+package com.maemong.attendance.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+
+/**
+ * 출/퇴근 등록에 쓰는 "지금" (날짜 yyyy-MM-dd + 시각 HH:mm:ss 문자열)
+ * - AttendanceService 에 주입 → 테스트/소급 입력에서는 고정 시계로 바꿀 수 있음
+ * - system() / of(Clock, ZoneId): 초 단위로 Stamp 를 캐시 → 같은 초 안의 호출은 같은 객체 (할당 없음)
+ *   · 날짜 문자열은 그 지역 날짜가 끝날 때(또는 오프셋이 바뀔 때)까지 재사용, 시각 문자열만 초마다 새로 만듦
+ *   · ZonedDateTime / DateTimeFormatter 를 거치지 않음 → 값은 now.format("uuuu-MM-dd"), now.format("HH:mm:ss") 와 같음
+ */
+@FunctionalInterface
+public interface TimeSource {
+
+	ZoneId KST = ZoneId.of("Asia/Seoul");
+
+	/** 한 초의 지역 날짜/시각 */
+	record Stamp(long epochSecond, String date, String time) {}
+
+	/** 지금 (같은 초면 같은 Stamp 를 돌려줘도 됨) */
+	Stamp now();
+
+	/** 시스템 시계, 한국 시간 */
+	static TimeSource system() {
+		return Cached.SYSTEM;
+	}
+
+	/** 임의 시계/시간대 (테스트: Clock.fixed / Clock.offset) */
+	static TimeSource of(Clock clock, ZoneId zone) {
+		return new Cached(clock, zone);
+	}
+
+	/** 초 단위 캐시 구현 (여러 스레드에서 써도 됨 — Stamp/Day 는 불변, 경합 시 같은 값을 다시 만들 뿐) */
+	final class Cached implements TimeSource {
+		static final Cached SYSTEM = new Cached(Clock.systemUTC(), KST);
+
+		/** 한 지역 날짜 구간: [from, until) epoch 초 동안 date 와 offset 이 그대로 */
+		private record Day(long from, long until, int offset, String date) {}
+
+		private final Clock clock;
+		private final ZoneRules rules;
+		private volatile Stamp last;
+		private volatile Day day;
+
+		private Cached(Clock clock, ZoneId zone) {
+			this.clock = clock;
+			this.rules = zone.getRules();
+		}
+
+		@Override public Stamp now() {
+			long sec = Math.floorDiv(clock.millis(), 1000);
+			Stamp s = last;
+			if (s != null && s.epochSecond() == sec) return s;
+
+			Day d = day;
+			if (d == null || sec < d.from() || sec >= d.until()) day = d = day(sec);
+			int sod = (int) Math.floorMod(sec + d.offset(), 86_400L);
+			s = new Stamp(sec, d.date(), hms(sod));
+			last = s;
+			return s;
+		}
+
+		private Day day(long sec) {
+			Instant at = Instant.ofEpochSecond(sec);
+			int offset = rules.getOffset(at).getTotalSeconds();
+			long epochDay = Math.floorDiv(sec + offset, 86_400L);
+			long until = (epochDay + 1) * 86_400L - offset;
+			ZoneOffsetTransition next = rules.nextTransition(at);
+			if (next != null) until = Math.min(until, next.toEpochSecond());
+			return new Day(sec, until, offset, LocalDate.ofEpochDay(epochDay).toString());
+		}
+
+		/** 0시부터의 초 → HH:mm:ss */
+		private static String hms(int sod) {
+			int h = sod / 3_600, m = sod / 60 % 60, s = sod % 60;
+			char[] c = {
+					(char) ('0' + h / 10), (char) ('0' + h % 10), ':',
+					(char) ('0' + m / 10), (char) ('0' + m % 10), ':',
+					(char) ('0' + s / 10), (char) ('0' + s % 10)};
+			return new String(c);
+		}
+	}
+}
@@ -0,0 +1,207 @@
+package com.maemong.attendance.ui;
+
+import com.maemong.attendance.model.Employee;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 직원관리 탭 검색 인덱스 (사번/이름 + 한글 초성)
+ * - 직원마다 슬롯 하나: "사번␟이름" 소문자 문자열과, 그 한글 음절을 초성 자모로 바꾼 문자열을 보관
+ *   (예: "홍길동" → "ㅎㄱㄷ". 길이가 같아 글자 위치가 그대로 대응)
+ * - 초성 문자열의 1글자/2글자(bigram)마다 슬롯 BitSet → 검색어 bigram 을 AND 해 후보만 남기고 글자 단위로 확인
+ * - 검색어의 초성 자모는 같은 초성의 음절과 일치 ("ㅎㄱㄷ", "홍ㄱㄷ", "길동" 모두 홍길동)
+ * - 숫자만 입력하면 사번 완전 일치 (기존 동작 유지)
+ * - put/remove 로 직원 단위 갱신 → 목록 전체를 다시 만들지 않음. EDT 에서만 사용
+ */
+final class EmployeeSearchIndex {
+
+	/** 사번/이름 경계를 넘는 일치를 막는 구분자 */
+	private static final char SEP = '\u001f';
+
+	/** 초성 19자 (호환 자모, 음절 (c - 0xAC00) / 588 순서) */
+	private static final String CHOSUNG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+
+	/** 슬롯별 사번 (null = 빈 슬롯) */
+	private String[] empNos = new String[16];
+	/** 슬롯별 "사번␟이름" 소문자 */
+	private String[] keys = new String[16];
+	/** 슬롯별 초성 문자열 (keys 와 같은 길이) */
+	private String[] chosung = new String[16];
+	private int slots;
+	private final Map<String, Integer> slotOf = new HashMap<>();
+	private final BitSet free = new BitSet();
+	/** 1글자(c) / 2글자((c1 << 16) | c2) → 그 글자를 가진 슬롯 */
+	private final Map<Integer, BitSet> postings = new HashMap<>();
+
+	/** 목록 전체로 다시 만듦 */
+	void rebuild(List<Employee> list) {
+		int cap = Math.max(16, list.size());
+		empNos = new String[cap];
+		keys = new String[cap];
+		chosung = new String[cap];
+		slots = 0;
+		slotOf.clear();
+		free.clear();
+		postings.clear();
+		for (Employee e : list) put(e);
+	}
+
+	int size() { return slotOf.size(); }
+
+	/** 직원 추가/변경 (사번 기준) */
+	void put(Employee e) {
+		String empNo = e.getEmpNo();
+		if (empNo == null) return;
+		Integer old = slotOf.get(empNo);
+		int slot;
+		if (old != null) {
+			slot = old;
+			unpost(slot);
+		} else {
+			slot = free.nextSetBit(0);
+			if (slot >= 0) free.clear(slot);
+			else slot = nextSlot();
+			slotOf.put(empNo, slot);
+		}
+		String key = (empNo + SEP + safe(e.getName())).toLowerCase(Locale.ROOT);
+		String cho = toChosung(key);
+		empNos[slot] = empNo;
+		keys[slot] = key;
+		chosung[slot] = cho;
+		for (int i = 0; i < cho.length(); i++) {
+			post(cho.charAt(i), slot);
+			if (i + 1 < cho.length()) post(bigram(cho.charAt(i), cho.charAt(i + 1)), slot);
+		}
+	}
+
+	/** 직원 삭제 */
+	void remove(String empNo) {
+		Integer slot = slotOf.remove(empNo);
+		if (slot == null) return;
+		unpost(slot);
+		empNos[slot] = null;
+		keys[slot] = null;
+		chosung[slot] = null;
+		free.set(slot);
+	}
+
+	/** 검색어 정규화 (앞뒤 공백 제거 + 소문자) */
+	static String normalize(String q) {
+		return q == null ? "" : q.trim().toLowerCase(Locale.ROOT);
+	}
+
+	/** 정규화된 검색어 q 에 맞는 사번 (q 가 비었으면 null = 전체) */
+	Set<String> search(String q) {
+		if (q.isEmpty()) return null;
+		Set<String> out = new HashSet<>();
+		if (isDigits(q)) {
+			if (slotOf.containsKey(q)) out.add(q);
+			return out;
+		}
+		String cq = toChosung(q);
+		BitSet cand = candidates(cq);
+		for (int s = cand.nextSetBit(0); s >= 0; s = cand.nextSetBit(s + 1)) {
+			if (matches(keys[s], chosung[s], q)) out.add(empNos[s]);
+		}
+		return out;
+	}
+
+	/* ===================== 내부 ===================== */
+
+	/** 초성 검색어의 모든 bigram(1글자면 unigram) 을 가진 슬롯 */
+	private BitSet candidates(String cq) {
+		if (cq.length() == 1) return copy(postings.get((int) cq.charAt(0)));
+		BitSet cand = null;
+		for (int i = 0; i + 1 < cq.length(); i++) {
+			BitSet p = postings.get(bigram(cq.charAt(i), cq.charAt(i + 1)));
+			if (p == null) return new BitSet();
+			if (cand == null) cand = (BitSet) p.clone();
+			else cand.and(p);
+			if (cand.isEmpty()) break;
+		}
+		return cand;
+	}
+
+	/** key 안에 q 가 글자 단위로 있는지 (q 의 초성 자모는 같은 초성의 음절과도 일치) */
+	private static boolean matches(String key, String cho, String q) {
+		int n = q.length();
+		outer:
+		for (int start = 0; start + n <= key.length(); start++) {
+			for (int j = 0; j < n; j++) {
+				char qc = q.charAt(j);
+				char kc = key.charAt(start + j);
+				if (qc == kc) continue;
+				if (isChosung(qc) && cho.charAt(start + j) == qc) continue;
+				continue outer;
+			}
+			return true;
+		}
+		return false;
+	}
+
+	/** 한글 음절 → 초성 자모 (그 외 글자는 그대로) */
+	static String toChosung(String s) {
+		char[] out = null;
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c >= 0xAC00 && c <= 0xD7A3) {
+				if (out == null) out = s.toCharArray();
+				out[i] = CHOSUNG.charAt((c - 0xAC00) / 588);
+			}
+		}
+		return out == null ? s : new String(out);
+	}
+
+	private static boolean isChosung(char c) { return CHOSUNG.indexOf(c) >= 0; }
+
+	private static boolean isDigits(String q) {
+		for (int i = 0; i < q.length(); i++) {
+			char c = q.charAt(i);
+			if (c < '0' || c > '9') return false;
+		}
+		return true;
+	}
+
+	private static int bigram(char a, char b) { return (a << 16) | b; }
+
+	private void post(int gram, int slot) {
+		postings.computeIfAbsent(gram, g -> new BitSet()).set(slot);
+	}
+
+	/** 슬롯의 기존 글자들을 postings 에서 뺌 (빈 BitSet 은 정리) */
+	private void unpost(int slot) {
+		String cho = chosung[slot];
+		for (int i = 0; i < cho.length(); i++) {
+			unpost(cho.charAt(i), slot);
+			if (i + 1 < cho.length()) unpost(bigram(cho.charAt(i), cho.charAt(i + 1)), slot);
+		}
+	}
+
+	private void unpost(int gram, int slot) {
+		BitSet p = postings.get(gram);
+		if (p == null) return;
+		p.clear(slot);
+		if (p.isEmpty()) postings.remove(gram);
+	}
+
+	private int nextSlot() {
+		if (slots == empNos.length) {
+			int cap = slots * 2;
+			empNos = Arrays.copyOf(empNos, cap);
+			keys = Arrays.copyOf(keys, cap);
+			chosung = Arrays.copyOf(chosung, cap);
+		}
+		return slots++;
+	}
+
+	private static BitSet copy(BitSet b) { return b == null ? new BitSet() : (BitSet) b.clone(); }
+
+	private static String safe(String s) { return s == null ? "" : s; }
+}
@@ -1,7 +1,7 @@
 package com.maemong.attendance.ui;
 
 import com.maemong.attendance.model.Employee;
-import com.maemong.attendance.repository.EmployeeRepository;
+import com.maemong.attendance.repository.EmployeeDirectory;
 import com.maemong.attendance.service.AttendanceService;
 
 import javax.swing.*;
@@ -14,7 +14,6 @@ public class PanelAttendance extends JPanel implements UnsavedAware {
     private static final long serialVersionUID = 1L;
 
     private final AttendanceService svc = new AttendanceService();
-    private final EmployeeRepository empRepo = new EmployeeRepository();
 
     /* ===== 사번 드롭다운: (사번) 이름 ===== */
     private static class EmpItem {
@@ -197,7 +196,7 @@ public class PanelAttendance extends JPanel implements UnsavedAware {
         try {
             var selected = (EmpItem) cbEmp.getSelectedItem();
             cbEmp.removeAllItems();
-            List<Employee> list = empRepo.listAll();  // emp_no 오름차순
+            List<Employee> list = EmployeeDirectory.current().listAll();  // emp_no 오름차순 (캐시)
             for (var e : list) cbEmp.addItem(new EmpItem(e.getEmpNo(), e.getName()));
 
             if (selected != null) {
@@ -1,6 +1,8 @@
 package com.maemong.attendance.ui;
 
+import com.maemong.attendance.config.StoreContext;
 import com.maemong.attendance.model.Employee;
+import com.maemong.attendance.repository.EmployeeDirectory;
 import com.maemong.attendance.repository.EmployeeRepository;
 
 import javax.swing.*;
@@ -15,12 +17,17 @@ import java.awt.*;
 import java.text.NumberFormat;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * 직원관리 (2025 플랫 UI)
- * - 검색: 사번/이름만. 숫자만 입력 시 사번 "완전 일치"
+ * - 검색: 사번/이름 + 이름 초성("ㅎㄱㄷ" → 홍길동). 숫자만 입력 시 사번 "완전 일치" (EmployeeSearchIndex)
+ * - 목록/검색 인덱스는 EmployeeRepository 변경 알림으로 바뀐 직원만 갱신 (대량 변경은 다시 읽기)
+ * - 목록/상세는 EmployeeDirectory 캐시에서 읽음 (새로고침 버튼만 DB 에서 다시 읽음)
  * - 등록/수정 분리: 새로 만들기 → 등록, 목록 선택 → 수정(사번 잠금)
  * - 선택 안정화: 필터/리로드 중 선택 억제/검사/지연
  * - 정렬: 헤더 같은 컬럼 3번 클릭 → 기본(정렬 해제)
@@ -32,6 +39,17 @@ public class PanelEmployee extends JPanel implements UnsavedAware {
     /* ===== Repo ===== */
     private final EmployeeRepository repo = new EmployeeRepository();
 
+    /** 변경 알림이 이보다 많은 직원을 담으면 부분 갱신 대신 목록을 다시 읽음 */
+    private static final int PATCH_LIMIT = 200;
+
+    /* ===== Search ===== */
+    private final EmployeeSearchIndex searchIndex = new EmployeeSearchIndex();
+    /** 현재 검색 결과 사번 (null = 검색 없음) */
+    private Set<String> searchHits = null;
+    /** 목록을 읽어 온 점포 DB (다른 점포의 변경 알림은 무시) */
+    private String dbPath = null;
+    private final EmployeeRepository.ChangeListener changeListener = this::onEmployeesChanged;
+
     /* ===== Toolbar ===== */
     private final JTextField tfSearch = new JTextField(16);
     private final JButton btnNew      = UiKit.primary("새로 만들기");
@@ -39,6 +57,7 @@ public class PanelEmployee extends JPanel implements UnsavedAware {
     private final JButton btnUpdate   = UiKit.primary("수정");
     private final JButton btnDelete   = UiKit.danger ("삭제");
     private final JButton btnReload   = UiKit.success("새로고침");
+    private final JButton btnImport   = UiKit.secondary("CSV 가져오기");
 
     /* ===== Left: Table ===== */
     private final DefaultTableModel model = new DefaultTableModel(
@@ -95,9 +114,10 @@ public class PanelEmployee extends JPanel implements UnsavedAware {
         rightGroup.add(btnUpdate);
         rightGroup.add(btnDelete);
         rightGroup.add(btnReload);
+        rightGroup.add(btnImport);
 
         // 버튼 크게
-        UiKit.makeLarge(btnNew, btnCreate, btnUpdate, btnDelete, btnReload);
+        UiKit.makeLarge(btnNew, btnCreate, btnUpdate, btnDelete, btnReload, btnImport);
 
         GridBagConstraints gc = new GridBagConstraints();
         gc.gridy = 0; gc.insets = new Insets(0,0,0,0);
@@ -118,31 +138,9 @@ public class PanelEmployee extends JPanel implements UnsavedAware {
         /* ---------- Wire ---------- */
         table.setRowSorter(sorter);
 
-        // 검색: 숫자만 → 사번 완전일치, 그 외 → 사번/이름 부분일치
+        // 검색: 숫자만 → 사번 완전일치, 그 외 → 사번/이름/초성 부분일치 (인덱스 조회 후 행은 사번 포함 여부만 확인)
         tfSearch.getDocument().addDocumentListener(new SimpleDoc(() -> {
-            String raw = tfSearch.getText().trim();
-            if (raw.isEmpty()) {
-                sorter.setRowFilter(null);
-                SwingUtilities.invokeLater(() -> table.clearSelection());
-                return;
-            }
-            final String q = raw.toLowerCase();
-            if (q.matches("^\\d+$")) {
-                sorter.setRowFilter(new RowFilter<>() {
-                    @Override public boolean include(Entry<? extends DefaultTableModel, ? extends Integer> e) {
-                        String empNo = safe(e.getStringValue(0)).trim();
-                        return empNo.equals(q);
-                    }
-                });
-            } else {
-                sorter.setRowFilter(new RowFilter<>() {
-                    @Override public boolean include(Entry<? extends DefaultTableModel, ? extends Integer> e) {
-                        String empNo = safe(e.getStringValue(0)).toLowerCase();
-                        String name  = safe(e.getStringValue(1)).toLowerCase();
-                        return empNo.contains(q) || name.contains(q);
-                    }
-                });
-            }
+            applySearch();
             SwingUtilities.invokeLater(() -> table.clearSelection());
         }));
 
@@ -179,7 +177,12 @@ public class PanelEmployee extends JPanel implements UnsavedAware {
         btnCreate.addActionListener(e -> create());
         btnUpdate.addActionListener(e -> update());
         btnDelete.addActionListener(e -> deleteSelected());
-        btnReload.addActionListener(e -> { reload(); selectRowByEmpNo(selectedEmpNo); });
+        btnReload.addActionListener(e -> {
+            EmployeeDirectory.current().invalidate(); // 새로고침은 DB 에서 다시 읽음
+            reload();
+            selectRowByEmpNo(selectedEmpNo);
+        });
+        btnImport.addActionListener(e -> importRoster());
 
         // Dirty tracking
         DirtyTracker.watch(tfEmpNo,   () -> dirty = true);
@@ -272,13 +275,13 @@ public class PanelEmployee extends JPanel implements UnsavedAware {
         try {
             suppressSelection = true;
             model.setRowCount(0);
-            List<Employee> list = repo.listAll();
+            dbPath = StoreContext.getDbFilePath();
+            List<Employee> list = EmployeeDirectory.current().listAll();
             for (Employee e : list) {
-                model.addRow(new Object[]{
-                        e.getEmpNo(), n(e.getName()), n(e.getPosition()),
-                        e.getWage(), n(e.getPhone())
-                });
+                model.addRow(row(e));
             }
+            searchIndex.rebuild(list);
+            applySearch();
             model.fireTableDataChanged();
         } catch (Exception ex) {
             showErr(ex);
@@ -287,6 +290,105 @@ public class PanelEmployee extends JPanel implements UnsavedAware {
         }
     }
 
+    private static Object[] row(Employee e) {
+        return new Object[]{ e.getEmpNo(), n(e.getName()), n(e.getPosition()), e.getWage(), n(e.getPhone()) };
+    }
+
+    /** 검색어로 인덱스 조회 → 결과 사번만 보이게 */
+    private void applySearch() {
+        searchHits = searchIndex.search(EmployeeSearchIndex.normalize(tfSearch.getText()));
+        if (searchHits == null) { sorter.setRowFilter(null); return; }
+        final Set<String> hits = searchHits;
+        sorter.setRowFilter(new RowFilter<>() {
+            @Override public boolean include(Entry<? extends DefaultTableModel, ? extends Integer> e) {
+                return hits.contains(safe(Objects.toString(e.getValue(0), null)));
+            }
+        });
+    }
+
+    /* ===================== 변경 알림 ===================== */
+
+    @Override public void addNotify() {
+        super.addNotify();
+        EmployeeRepository.addChangeListener(changeListener);
+    }
+
+    @Override public void removeNotify() {
+        EmployeeRepository.removeChangeListener(changeListener); // 점포 전환 등으로 탭이 빠지면 해제
+        super.removeNotify();
+    }
+
+    /** EmployeeRepository 쓰기 직후 (쓴 스레드) → EDT 에서 바뀐 직원의 행/인덱스만 갱신 */
+    private void onEmployeesChanged(String changedDb, List<Employee> upserted, List<String> removed) {
+        SwingUtilities.invokeLater(() -> {
+            if (!Objects.equals(changedDb, dbPath)) return;
+            if (upserted.size() + removed.size() > PATCH_LIMIT) { reload(); return; }
+            try {
+                suppressSelection = true;
+                Map<String, Integer> rowOf = new HashMap<>();
+                for (int i = 0; i < model.getRowCount(); i++) rowOf.put(Objects.toString(model.getValueAt(i, 0), ""), i);
+
+                for (Employee e : upserted) {
+                    Integer r = rowOf.get(e.getEmpNo());
+                    Object[] v = row(e);
+                    if (r == null) {
+                        model.addRow(v);
+                    } else {
+                        for (int c = 1; c < v.length; c++) {
+                            if (!Objects.equals(model.getValueAt(r, c), v[c])) model.setValueAt(v[c], r, c);
+                        }
+                    }
+                    searchIndex.put(e);
+                }
+                // 뒤쪽 행부터 지워야 앞쪽 행 번호가 유지됨
+                removed.stream().map(rowOf::get).filter(Objects::nonNull)
+                        .sorted(java.util.Comparator.reverseOrder())
+                        .forEach(model::removeRow);
+                removed.forEach(searchIndex::remove);
+                applySearch();
+            } finally {
+                suppressSelection = false;
+            }
+        });
+    }
+
+    /** 직원 명부 CSV 일괄 등록/갱신 (백그라운드) */
+    private void importRoster() {
+        JFileChooser fc = new JFileChooser();
+        fc.setDialogTitle("직원 명부 CSV 가져오기");
+        if (fc.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        java.io.File file = fc.getSelectedFile();
+
+        btnImport.setEnabled(false);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<com.maemong.attendance.service.EmployeeRosterImporter.Result, Void>() {
+            @Override protected com.maemong.attendance.service.EmployeeRosterImporter.Result doInBackground() throws Exception {
+                return new com.maemong.attendance.service.EmployeeRosterImporter().importFile(file);
+            }
+            @Override protected void done() {
+                btnImport.setEnabled(true);
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    var r = get();
+                    StringBuilder sb = new StringBuilder("가져오기 완료\n\n")
+                            .append("신규: ").append(r.summary().inserted()).append("명\n")
+                            .append("갱신: ").append(r.summary().updated()).append("명\n")
+                            .append("변경 없음: ").append(r.summary().unchanged()).append("명");
+                    if (r.rowsInvalid() > 0) {
+                        sb.append("\n건너뛴 오류 행: ").append(r.rowsInvalid());
+                        for (int i = 0; i < Math.min(5, r.errors().size()); i++) sb.append("\n  · ").append(r.errors().get(i));
+                    }
+                    JOptionPane.showMessageDialog(PanelEmployee.this, sb.toString());
+                    selectRowByEmpNo(selectedEmpNo); // 목록은 변경 알림으로 이미 갱신됨
+                } catch (java.util.concurrent.ExecutionException ex) {
+                    showErr(new RuntimeException("가져오기 중 오류: " + ex.getCause().getMessage(), ex.getCause()));
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }.execute();
+    }
+
     private void onRowSelected() {
         if (suppressSelection) return;
         int vrow = table.getSelectedRow();
@@ -298,7 +400,7 @@ public class PanelEmployee extends JPanel implements UnsavedAware {
         String empNo = Objects.toString(model.getValueAt(row, 0), null);
         if (empNo == null) return;
         try {
-            Employee e = repo.findByEmpNo(empNo);
+            Employee e = EmployeeDirectory.current().find(empNo); // 캐시 (DB 조회 없음)
             if (e != null) {
                 fillForm(e);
                 switchToEditMode(e.getEmpNo());
@@ -350,7 +452,6 @@ public class PanelEmployee extends JPanel implements UnsavedAware {
             repo.insert(toEntity());
             msg("등록 완료");
             dirty = false;
-            reload();
             selectRowByEmpNo(empNo);
             switchToEditMode(empNo);
         } catch (Exception ex) {
@@ -364,10 +465,9 @@ public class PanelEmployee extends JPanel implements UnsavedAware {
         String name = tfName.getText().trim();
         if (name.isEmpty()) { msg("이름은 필수입니다."); return; }
         try {
-            repo.update(toEntity());  // 사번 잠금 상태
+            repo.update(toEntity());  // 사번 잠금 상태 (목록은 변경 알림으로 갱신)
             msg("수정 완료");
             dirty = false;
-            reload();
             selectRowByEmpNo(selectedEmpNo);
         } catch (Exception ex) {
             showErr(ex);
@@ -391,7 +491,6 @@ public class PanelEmployee extends JPanel implements UnsavedAware {
             repo.deleteByEmpNo(empNo);
             msg("삭제되었습니다.");
             clearForm();
-            reload();
             switchToCreateMode();
         } catch (Exception ex) {
             showErr(ex);
@@ -3,16 +3,15 @@ package com.maemong.attendance.ui;
 import com.maemong.attendance.model.AttendanceRecord;
 import com.maemong.attendance.model.Employee;
 import com.maemong.attendance.repository.AttendanceRepository;
-import com.maemong.attendance.repository.EmployeeRepository;
+import com.maemong.attendance.repository.AttendanceRepository.Page;
+import com.maemong.attendance.repository.AttendanceRepository.Scope;
+import com.maemong.attendance.repository.EmployeeDirectory;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
-import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.io.File;
-import java.io.Writer;
 import java.time.YearMonth;
 import java.util.*;
 import java.util.List;
@@ -20,18 +19,23 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
- * 조회 탭 (사번 새로고침, 일/월 조회, 삭제, 중복 행 하이라이트, "(사번) 이름" 콤보, CSV 내보내기)
+ * 조회 탭 (사번 새로고침, 일/월/전체 조회, 삭제, 중복 행 하이라이트, "(사번) 이름" 콤보, CSV 내보내기/가져오기)
+ * - 테이블은 RecordsTableModel (보이는 구간만 페이지 단위로 읽는 가상 스크롤) → 기간이 길어도 메모리/로딩 일정
+ * - 검색: 입력이 멈추면(SEARCH_DELAY_MS) 조회 직후 만들어 둔 RecordSearchIndex 로 백그라운드에서 거르고 결과를 한 번에 반영
+ *   (검색어가 길어지기만 했으면 직전 결과 안에서만). 인덱스 상한을 넘는 큰 조회는 SQL 검색으로 대신함
+ * - DB 작업(조회/삭제/사번 목록)은 모두 SwingWorker 에서. 조건이 바뀌면 바로 다시 조회하고
+ *   진행 중이던 이전 조회 결과는 버림 (loadSeq), 결과는 EDT 에서 한 번에 반영
  */
 public class PanelRecords extends JPanel implements UnsavedAware {
 	private static final long serialVersionUID = 1L;
 
 	/* ===== Repository ===== */
-	private final EmployeeRepository employeeRepo = new EmployeeRepository();
 	private final AttendanceRepository attendanceRepo = new AttendanceRepository();
 
 	/* ===== Controls (top bar) ===== */
 	private final JRadioButton rMonthly = new JRadioButton("월별", true);
 	private final JRadioButton rDaily   = new JRadioButton("일별");
+	private final JRadioButton rAll     = new JRadioButton("전체");
 	private final JComboBox<String> cbEmp = new JComboBox<>();
 	private final JButton btnEmpRefresh = UiKit.success("사번 새로고침");
 
@@ -42,25 +46,35 @@ public class PanelRecords extends JPanel implements UnsavedAware {
 	private final JButton btnSearch = UiKit.primary("조회");
 	private final JButton btnDelete = UiKit.danger("선택 삭제");
 	private final JButton btnExport = UiKit.secondary("CSV 내보내기");  // ★ 추가
+	private final JButton btnImport = UiKit.secondary("CSV 가져오기");
 	private final JTextField tfSearch = UiKit.input(14);
 	private final JButton btnClearSearch = UiKit.secondary("지우기");
-
-	// PanelRecords 상단 필드 (없으면 추가)
-	private final com.maemong.attendance.service.AttendanceService service =
-			new com.maemong.attendance.service.AttendanceService();
-
+	private final JProgressBar busy = new JProgressBar();
 
 	/* ===== Table ===== */
-	private final DefaultTableModel model = new DefaultTableModel(
-			new Object[]{"사번","이름","날짜","출근","퇴근","메모","ID"}, 0) {
-		@Override public boolean isCellEditable(int r, int c) { return false; }
-	};
+	private final RecordsTableModel model = new RecordsTableModel(attendanceRepo);
 	private final JTable table = new JTable(model);
-	private final TableRowSorter<DefaultTableModel> sorter = new TableRowSorter<>(model);
 
 	/* ===== State ===== */
 	private boolean dirty = false; // 조회 탭에서는 주로 false 유지
-	private final Map<String, Integer> dupCountByKey = new HashMap<>(); // (empNo|date) → count
+	/** 조회 요청 번호: 마지막 요청의 결과만 반영 */
+	private int loadSeq;
+	private SwingWorker<?, ?> loadWorker;
+	/** 사번 콤보를 코드로 채우는 중 (선택 변경 이벤트로 조회하지 않음) */
+	private boolean fillingEmp;
+
+	/** 마지막 입력 후 이만큼 조용하면 검색 */
+	private static final int SEARCH_DELAY_MS = 200;
+	private final javax.swing.Timer searchDebounce = new javax.swing.Timer(SEARCH_DELAY_MS, e -> applySearch());
+	/** 현재 조회의 검색 인덱스 (null: 만드는 중이거나 상한 초과 → SQL 검색) */
+	private RecordSearchIndex searchIndex;
+	/** 조회/인덱스 생성 중 → 검색은 인덱스가 준비되면 반영 */
+	private boolean indexPending;
+	/** 마지막으로 반영한 검색어(정규화)와 그 결과 행 위치 → 검색어가 길어질 때 좁혀 찾기 */
+	private String lastQuery = "";
+	private int[] lastHits;
+	/** 검색 요청 번호: 마지막 요청의 결과만 반영 */
+	private int searchSeq;
 
 	public PanelRecords() {
 		setLayout(new BorderLayout(12, 12));
@@ -71,138 +85,47 @@ public class PanelRecords extends JPanel implements UnsavedAware {
 		add(buildCenter(), BorderLayout.CENTER);
 
 		// 테이블 설정
-		table.setRowSorter(sorter);
 		table.setRowHeight(26);
 		table.setFillsViewportHeight(true);
 		table.getTableHeader().setReorderingAllowed(false);
 		// ID 컬럼 숨김
-		table.getColumnModel().getColumn(6).setMinWidth(0);
-		table.getColumnModel().getColumn(6).setMaxWidth(0);
-		table.getColumnModel().getColumn(6).setPreferredWidth(0);
+		table.getColumnModel().getColumn(RecordsTableModel.COL_ID).setMinWidth(0);
+		table.getColumnModel().getColumn(RecordsTableModel.COL_ID).setMaxWidth(0);
+		table.getColumnModel().getColumn(RecordsTableModel.COL_ID).setPreferredWidth(0);
 		// 중복 하이라이트 렌더러
 		var dupRenderer = new DupRowRenderer();
 		for (int i=0;i<6;i++) table.getColumnModel().getColumn(i).setCellRenderer(dupRenderer);
 
 		// 라디오 전환 시 Day enable 토글
 		ButtonGroup g = new ButtonGroup();
-		g.add(rMonthly); g.add(rDaily);
-		rMonthly.addActionListener(e -> updateDayEnable());
-		rDaily.addActionListener(e -> updateDayEnable());
+		g.add(rMonthly); g.add(rDaily); g.add(rAll);
+		rMonthly.addActionListener(e -> { updateDayEnable(); loadRecords(); });
+		rDaily.addActionListener(e -> { updateDayEnable(); loadRecords(); });
+		rAll.addActionListener(e -> { updateDayEnable(); loadRecords(); });
 
 		// 액션
 		btnEmpRefresh.addActionListener(e -> reloadEmpComboKeepSelection());
 		btnSearch.addActionListener(e -> loadRecords());
 		btnDelete.addActionListener(e -> deleteSelected());
 		btnExport.addActionListener(e -> exportTableToCsv()); // ★ 추가
+		btnImport.addActionListener(e -> importCsv());
 
 		// 날짜 콤보 초기화
 		initDateCombos();
 
 		// 사번 목록 로딩
-		loadEmpItems();
+		loadEmpItems(null);
 
 		// 초기 조회(월별)
 		loadRecords();
 
-		installSearchFilter(); // ★ 검색 필터
-	}
-
-	// PanelRecords 내부 아무 곳에 추가
-	private boolean isMonthlyMode() {
-		// 네가 월/일 모드를 선택하는 컴포넌트가 라디오가 아니라 콤보/토글이면 여기서 바꿔도 됨.
-		try {
-			java.lang.reflect.Field f = getClass().getDeclaredField("rbMonthly");
-			f.setAccessible(true);
-			Object o = f.get(this);
-			if (o instanceof javax.swing.JRadioButton) {
-				return ((javax.swing.JRadioButton) o).isSelected();
-			}
-		} catch (Exception ignore) { }
-		// 라디오가 없으면 기본을 "월별"로
-		return true;
-	}
-
-	// "(27236) 홍길동" -> "27236"
-	private String selectedEmpNoOrNull() {
-		Object sel = cbEmp.getSelectedItem();
-		if (sel == null) return null;
-		String s = sel.toString().trim();
-		if (s.isEmpty() || "전체".equals(s)) return null;
-
-		java.util.regex.Matcher m = java.util.regex.Pattern.compile("^\\(([^)]+)\\)").matcher(s);
-		if (m.find()) return m.group(1).trim();
-		return s;
-	}
-
-	// yyyy-MM-dd
-	private String selectedDate() {
-		int y = (int) cbYear.getSelectedItem();
-		int m = (int) cbMonth.getSelectedItem();
-		int d = (int) cbDay.getSelectedItem();
-		return String.format("%04d-%02d-%02d", y, m, d);
-	}
-
-	// yyyy-MM
-	private String selectedYearMonth() {
-		int y = (int) cbYear.getSelectedItem();
-		int m = (int) cbMonth.getSelectedItem();
-		return String.format("%04d-%02d", y, m);
-	}
-
-	private void reloadRecords() {
-		try {
-			// 0) 테이블 필터(검색 등) 초기화 — 제네릭 오류 안 나게 안전캐스팅
-			if (table != null && table.getRowSorter() instanceof javax.swing.table.TableRowSorter) {
-				((javax.swing.table.TableRowSorter<?>) table.getRowSorter()).setRowFilter(null);
-			}
-			if (sorter != null) sorter.setRowFilter(null);
-
-			// 1) 조건 만들기
-			final boolean monthly = isMonthlyMode();
-			final String empNo = selectedEmpNoOrNull();
-
-			java.util.List<com.maemong.attendance.model.AttendanceRecord> list;
-			if (monthly) {
-				String ym = selectedYearMonth();          // yyyy-MM (제로패딩)
-				list = service.recordsInMonth(ym);
-			} else {
-				String date = selectedDate();             // yyyy-MM-dd (제로패딩)
-				list = service.recordsAt(date);
-			}
-
-			// 2) 사번 필터(선택됐을 때만)
-			if (empNo != null && !empNo.isBlank()) {
-				list.removeIf(r -> r.getEmpNo() == null || !empNo.equals(r.getEmpNo()));
-			}
-
-			// 3) 테이블 채우기
-			fillTable(list);
-
-		} catch (Exception ex) {
-			ex.printStackTrace();
-			javax.swing.JOptionPane.showMessageDialog(this, ex.getMessage(), "조회 오류",
-					javax.swing.JOptionPane.ERROR_MESSAGE);
-		}
-	}
+		// 연/월/일/사번을 바꾸면 바로 다시 조회 (초기화가 끝난 뒤 연결)
+		cbYear.addActionListener(e -> loadRecords());
+		cbMonth.addActionListener(e -> loadRecords());
+		cbDay.addActionListener(e -> loadRecords());
+		cbEmp.addActionListener(e -> { if (!fillingEmp) loadRecords(); });
 
-	// 네가 유지하는 컬럼 순서로 바꾸어 사용
-	private void fillTable(java.util.List<com.maemong.attendance.model.AttendanceRecord> list) {
-		// model이 널이면 return
-		if (model == null) return;
-		model.setRowCount(0);
-		for (com.maemong.attendance.model.AttendanceRecord r : list) {
-			model.addRow(new Object[]{
-					r.getId(),
-					r.getEmpNo(),
-					r.getEmpName(),
-					// date는 출근일 기준, outDate가 있으면 옆 칸에 표시하고 싶으면 한 칸 더 추가하세요
-					r.getDate(),
-					r.getInTime(),
-					r.getOutTime(),
-					r.getMemo()
-			});
-		}
-		model.fireTableDataChanged();
+		installSearchFilter(); // ★ 검색 필터
 	}
 
 	/* ===================== UI Builders ===================== */
@@ -220,6 +143,7 @@ public class PanelRecords extends JPanel implements UnsavedAware {
 		left.add(new JLabel("모드"));
 		left.add(rMonthly);
 		left.add(rDaily);
+		left.add(rAll);
 
 		left.add(new JLabel("사번/이름"));
 		cbEmp.setPrototypeDisplayValue("(000000) 홍길동길동"); // 폭 예측치
@@ -244,9 +168,10 @@ public class PanelRecords extends JPanel implements UnsavedAware {
 		right.add(btnSearch);
 		right.add(btnDelete);
 		right.add(btnExport);
+		right.add(btnImport);
 
 		// 버튼 큼직하게
-		UiKit.makeLarge(btnEmpRefresh, btnSearch, btnDelete, btnExport, btnClearSearch);
+		UiKit.makeLarge(btnEmpRefresh, btnSearch, btnDelete, btnExport, btnImport, btnClearSearch);
 
 		GridBagConstraints gc = new GridBagConstraints();
 		gc.gridy = 0; gc.insets = new Insets(0,0,0,0);
@@ -262,7 +187,15 @@ public class PanelRecords extends JPanel implements UnsavedAware {
 	private JComponent buildCenter() {
 		JPanel wrap = UiKit.card();
 		wrap.setLayout(new BorderLayout(8,8));
-		wrap.add(UiKit.cardTitle("출퇴근 기록"), BorderLayout.NORTH);
+		JPanel head = new JPanel(new BorderLayout(8, 0));
+		head.setOpaque(false);
+		head.add(UiKit.cardTitle("출퇴근 기록"), BorderLayout.WEST);
+		busy.setIndeterminate(true);
+		busy.setString("불러오는 중...");
+		busy.setStringPainted(true);
+		busy.setVisible(false);
+		head.add(busy, BorderLayout.EAST);
+		wrap.add(head, BorderLayout.NORTH);
 
 		JScrollPane sp = new JScrollPane(table);
 		sp.setBorder(BorderFactory.createEmptyBorder());
@@ -295,172 +228,361 @@ public class PanelRecords extends JPanel implements UnsavedAware {
 
 	private void updateDayEnable() {
 		boolean daily = rDaily.isSelected();
+		boolean all = rAll.isSelected();
 		cbDay.setEnabled(daily);
+		cbYear.setEnabled(!all);
+		cbMonth.setEnabled(!all);
+		cbEmp.setEnabled(!all);
 	}
 
-	/** "(사번) 이름" 형식으로 콤보 채우기 (첫 항목: 전체) */
-	private void loadEmpItems() {
-		try {
-			cbEmp.removeAllItems();
-			cbEmp.addItem("전체");
-			List<Employee> list = employeeRepo.listAll();
-			list.sort(Comparator.comparing(Employee::getEmpNo)); // 사번 오름차순
-			for (Employee e : list) {
-				String empNo = safe(e.getEmpNo());
-				String name  = safe(e.getName());
-				cbEmp.addItem("(" + empNo + ") " + name);
+	/**
+	 * "(사번) 이름" 형식으로 콤보 채우기 (첫 항목: 전체). 목록은 백그라운드에서 읽음
+	 * keep: 다시 선택할 사번 (없어졌으면 전체로 돌아가고 다시 조회)
+	 */
+	private void loadEmpItems(String keep) {
+		btnEmpRefresh.setEnabled(false);
+		new SwingWorker<List<String>, Void>() {
+			@Override protected List<String> doInBackground() throws Exception {
+				List<Employee> list = EmployeeDirectory.current().listAll(); // 사번 오름차순 (캐시, 첫 조회만 DB)
+				List<String> items = new ArrayList<>(list.size() + 1);
+				items.add("전체");
+				for (Employee e : list) items.add("(" + safe(e.getEmpNo()) + ") " + safe(e.getName()));
+				return items;
 			}
-			cbEmp.setSelectedIndex(0);
-		} catch (Exception ex) {
-			showErr(ex);
-		}
+
+			@Override protected void done() {
+				btnEmpRefresh.setEnabled(true);
+				try {
+					List<String> items = get();
+					fillingEmp = true;
+					int sel = 0;
+					try {
+						cbEmp.setModel(new DefaultComboBoxModel<>(items.toArray(new String[0])));
+						for (int i = 1; keep != null && i < items.size(); i++) {
+							if (keep.equals(parseEmpNo(items.get(i)))) { sel = i; break; }
+						}
+						cbEmp.setSelectedIndex(sel);
+					} finally {
+						fillingEmp = false;
+					}
+					if (keep != null && sel == 0) loadRecords(); // 선택했던 직원이 없어짐 → 전체로
+				} catch (java.util.concurrent.ExecutionException ex) {
+					showErr(ex.getCause());
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}.execute();
 	}
 
 	/** 새로고침 시 선택 유지 */
 	private void reloadEmpComboKeepSelection() {
-		String keep = parseEmpNo((String) cbEmp.getSelectedItem());
-		loadEmpItems();
-		if (keep != null) {
-			for (int i=0;i<cbEmp.getItemCount();i++) {
-				if (keep.equals(parseEmpNo(cbEmp.getItemAt(i)))) {
-					cbEmp.setSelectedIndex(i);
-					break;
-				}
-			}
-		}
+		loadEmpItems(parseEmpNo((String) cbEmp.getSelectedItem()));
 	}
 
+	/** 행 수 + 첫 페이지 (한 번에 모델에 반영) */
+	private record Loaded(Scope scope, int count, Page firstPage) {}
+
+	/**
+	 * 현재 조건으로 백그라운드 조회 → 끝나면 모델 교체
+	 * - 새 조회가 시작되면 이전 작업은 취소 표시만 하고(진행 중 SQL 은 끝까지 돎) 결과는 버림
+	 * - 행 수가 RecordSearchIndex.MAX_ROWS 이하면 이어서 검색 인덱스를 만들고, 넘으면 검색어를 SQL 조건으로
+	 * - 페이지 스크롤 로딩은 RecordsTableModel 이 따로 처리
+	 */
 	private void loadRecords() {
+		final Scope scope;
 		try {
-			model.setRowCount(0);
-			dupCountByKey.clear();
+			scope = currentScope();
+		} catch (Exception ex) {
+			showErr(ex);
+			return;
+		}
+		final String q = RecordSearchIndex.normalize(tfSearch.getText());
+		final int seq = ++loadSeq;
+		searchSeq++; // 진행 중 검색은 이전 조회 기준 → 버림
+		searchIndex = null;
+		indexPending = true;
+		if (loadWorker != null) loadWorker.cancel(false);
+		setBusy(true);
+
+		SwingWorker<Loaded, Void> w = new SwingWorker<>() {
+			@Override protected Loaded doInBackground() throws Exception {
+				int count = attendanceRepo.count(scope);
+				if (isCancelled()) return null; // 그 사이 조건이 바뀜 → 나머지는 읽지 않음
+				if (count > RecordSearchIndex.MAX_ROWS && !q.isEmpty()) {
+					Scope text = scope.withText(q);
+					return new Loaded(text, attendanceRepo.count(text),
+							attendanceRepo.findPageAfter(text, null, RecordsTableModel.PAGE_SIZE));
+				}
+				return new Loaded(scope, count, attendanceRepo.findPageAfter(scope, null, RecordsTableModel.PAGE_SIZE));
+			}
 
-			String empNoFilter = parseEmpNo((String) cbEmp.getSelectedItem()); // null이면 전체
-			if (rMonthly.isSelected()) {
-				int y = (Integer) cbYear.getSelectedItem();
-				int m = (Integer) cbMonth.getSelectedItem();
-				String ym = String.format("%04d-%02d", y, m);
-				List<AttendanceRecord> list = attendanceRepo.findByMonth(ym);
-
-				for (AttendanceRecord r : list) {
-					if (empNoFilter != null && !empNoFilter.equals(safe(r.getEmpNo()))) continue;
-					addRow(r);
+			@Override protected void done() {
+				if (seq != loadSeq) return; // 더 새 조회가 진행 중
+				loadWorker = null;
+				setBusy(false);
+				if (isCancelled()) return;
+				try {
+					Loaded r = get();
+					model.load(r.scope(), r.count(), r.firstPage());
+					lastQuery = "";
+					lastHits = null;
+					if (r.scope().text() == null && r.count() <= RecordSearchIndex.MAX_ROWS) buildSearchIndex(seq, r.scope(), r.count());
+					else indexPending = false;
+				} catch (java.util.concurrent.ExecutionException ex) {
+					indexPending = false;
+					showErr(ex.getCause());
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
 				}
-			} else {
-				int y = (Integer) cbYear.getSelectedItem();
-				int m = (Integer) cbMonth.getSelectedItem();
-				int d = (Integer) cbDay.getSelectedItem();
-				// 실제 달의 말일을 고려해 day 보정
-				int last = YearMonth.of(y, m).lengthOfMonth();
-				if (d > last) d = last;
-				String ymd = String.format("%04d-%02d-%02d", y, m, d);
-				List<AttendanceRecord> list = attendanceRepo.findByDate(ymd);
+			}
+		};
+		loadWorker = w;
+		w.execute();
+	}
+
+	/** 조회 직후 검색 인덱스 생성 (첫 화면은 이미 표시된 상태). 그 사이 입력된 검색어는 끝나면 반영 */
+	private void buildSearchIndex(int seq, Scope scope, int count) {
+		new SwingWorker<RecordSearchIndex, Void>() {
+			@Override protected RecordSearchIndex doInBackground() throws Exception {
+				return RecordSearchIndex.build(attendanceRepo, scope, count);
+			}
 
-				for (AttendanceRecord r : list) {
-					if (empNoFilter != null && !empNoFilter.equals(safe(r.getEmpNo()))) continue;
-					addRow(r);
+			@Override protected void done() {
+				if (seq != loadSeq) return; // 다음 조회가 시작됨
+				indexPending = false;
+				try {
+					searchIndex = get();
+					if (!RecordSearchIndex.normalize(tfSearch.getText()).isEmpty()) applySearch();
+				} catch (java.util.concurrent.ExecutionException ex) {
+					showErr(ex.getCause());
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
 				}
 			}
+		}.execute();
+	}
 
-			// 중복 카운트 계산(사번|날짜)
-			calcDup();
+	private void setBusy(boolean on) {
+		busy.setVisible(on);
+		table.setCursor(on ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+	}
 
-			model.fireTableDataChanged();
-		} catch (Exception ex) {
-			showErr(ex);
+	/**
+	 * 검색창 내용 반영 (입력이 멈춘 뒤)
+	 * - 인덱스가 있으면 백그라운드에서 거른 뒤 모델에 id 목록으로 한 번에 반영
+	 * - 검색어가 직전 검색어를 포함해 길어졌으면 직전 결과 안에서만 검사
+	 * - 인덱스가 없으면(큰 조회) SQL 검색으로 다시 조회
+	 */
+	private void applySearch() {
+		final String q = RecordSearchIndex.normalize(tfSearch.getText());
+		final RecordSearchIndex index = searchIndex;
+		if (index == null) {
+			if (indexPending) return; // 인덱스가 준비되면 buildSearchIndex 에서 다시 호출
+			if (!q.equals(RecordSearchIndex.normalize(model.scope().text()))) loadRecords();
+			return;
 		}
-	}
+		final int seq = ++searchSeq;
+		if (q.isEmpty()) {
+			lastQuery = "";
+			lastHits = null;
+			if (model.isFiltered()) model.filter(null);
+			return;
+		}
+		if (q.equals(lastQuery) && model.isFiltered()) return;
+		final int[] within = (lastHits != null && q.startsWith(lastQuery)) ? lastHits : null;
 
-	private void addRow(AttendanceRecord r) {
-		model.addRow(new Object[]{
-				safe(r.getEmpNo()),
-				safe(r.getEmpName()),   // 모델에 이름이 없다면 repo에서 join/보강 필요
-				safe(r.getDate()),
-				safe(r.getInTime()),
-				safe(r.getOutTime()),
-				safe(r.getMemo()),
-				r.getId()               // ID (숨김)
-		});
+		new SwingWorker<int[], Void>() {
+			@Override protected int[] doInBackground() {
+				return index.filter(q, within);
+			}
+
+			@Override protected void done() {
+				if (seq != searchSeq || index != searchIndex) return; // 더 새 검색/조회가 있음
+				try {
+					int[] hits = get();
+					lastQuery = q;
+					lastHits = hits;
+					model.filter(index.ids(hits));
+				} catch (java.util.concurrent.ExecutionException ex) {
+					showErr(ex.getCause());
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}.execute();
 	}
 
-	private void calcDup() {
-		dupCountByKey.clear();
-		for (int i=0;i<model.getRowCount();i++) {
-			String empNo = safe((String) model.getValueAt(i,0));
-			String date  = safe((String) model.getValueAt(i,2));
-			String key = empNo + "|" + date;
-			dupCountByKey.put(key, dupCountByKey.getOrDefault(key, 0)+1);
+	/** 모드/사번/날짜 콤보 → 조회 조건 (검색어는 applySearch 에서) */
+	private Scope currentScope() {
+		Scope scope;
+		if (rAll.isSelected()) {
+			scope = Scope.ALL;
+		} else {
+			String empNoFilter = parseEmpNo((String) cbEmp.getSelectedItem()); // null이면 전체
+			int y = (Integer) cbYear.getSelectedItem();
+			int m = (Integer) cbMonth.getSelectedItem();
+			if (rMonthly.isSelected()) {
+				scope = Scope.month(String.format("%04d-%02d", y, m), empNoFilter);
+			} else {
+				int d = (Integer) cbDay.getSelectedItem();
+				// 실제 달의 말일을 고려해 day 보정
+				int last = YearMonth.of(y, m).lengthOfMonth();
+				if (d > last) d = last;
+				scope = Scope.day(String.format("%04d-%02d-%02d", y, m, d), empNoFilter);
+			}
 		}
+		return scope;
 	}
 
 	private void deleteSelected() {
-		int vrow = table.getSelectedRow();
-		if (vrow < 0) { msg("삭제할 행을 선택하세요."); return; }
-		int row = table.convertRowIndexToModel(vrow);
+		int row = table.getSelectedRow();
+		if (row < 0) { msg("삭제할 행을 선택하세요."); return; }
+		AttendanceRecord rec = model.recordAt(row);
+		if (rec == null) { msg("기록을 불러오는 중입니다. 잠시 후 다시 시도하세요."); return; }
 
-		String empNo = safe((String) model.getValueAt(row,0));
-		String date  = safe((String) model.getValueAt(row,2));
-		String inT   = safe((String) model.getValueAt(row,3));
-		String outT  = safe((String) model.getValueAt(row,4));
-		Object idObj = model.getValueAt(row,6);
-		Long id = (idObj instanceof Number) ? ((Number) idObj).longValue() : null;
+		String empNo = safe(rec.getEmpNo());
+		String date  = safe(rec.getDate());
+		String inT   = safe(rec.getInTime());
+		String outT  = safe(rec.getOutTime());
+		Long id = rec.getId();
 
 		int c = JOptionPane.showConfirmDialog(this,
 				"다음 기록을 삭제할까요?\n\n사번: " + empNo + "\n날짜: " + date + "\n출근: " + inT + "\n퇴근: " + (outT.isBlank()?"-":outT),
 				"삭제 확인", JOptionPane.OK_CANCEL_OPTION, JOptionPane.WARNING_MESSAGE);
 		if (c != JOptionPane.OK_OPTION) return;
 
-		try {
-			if (id != null) {
-				attendanceRepo.deleteById(id); // 레포지토리에 구현되어야 함
-			} else {
-				attendanceRepo.deleteByKey(empNo, date, inT, outT);
+		btnDelete.setEnabled(false);
+		new SwingWorker<Integer, Void>() {
+			@Override protected Integer doInBackground() throws Exception {
+				return (id != null)
+						? attendanceRepo.deleteById(id)
+						: attendanceRepo.deleteByKey(empNo, date, inT, outT);
 			}
-			msg("삭제했습니다.");
-			loadRecords();
-		} catch (NoSuchMethodError err) {
-			showErr(new RuntimeException("삭제 API가 레포지토리에 없습니다. AttendanceRepository에 deleteById(long) 또는 deleteByKey(empNo,date,in,out)을 추가하세요."));
-		} catch (Exception ex) {
-			showErr(ex);
-		}
+
+			@Override protected void done() {
+				btnDelete.setEnabled(true);
+				try {
+					get();
+					msg("삭제했습니다.");
+					loadRecords();
+				} catch (java.util.concurrent.ExecutionException ex) {
+					showErr(ex.getCause());
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}.execute();
 	}
 
 	/* ===================== CSV Export ===================== */
 
+	/**
+	 * 현재 조회 조건 전체를 DB 에서 순서대로 읽어 씀 (화면에 읽혀 있지 않은 행 포함)
+	 * - 백그라운드에서 AttendanceCsvExporter 로 스트리밍, 진행률 창에서 취소 가능 (취소하면 파일을 만들지 않음)
+	 */
 	private void exportTableToCsv() {
-		try {
-			if (model.getRowCount() == 0) { msg("내보낼 데이터가 없습니다."); return; }
-
-			JFileChooser fc = new JFileChooser();
-			fc.setDialogTitle("CSV 내보내기");
-			fc.setSelectedFile(new File("attendance-export.csv"));
-			int r = fc.showSaveDialog(this);
-			if (r != JFileChooser.APPROVE_OPTION) return;
-
-			File file = fc.getSelectedFile();
-			try (Writer w = CsvUtil.newUtf8BomWriter(file)) {
-				// 헤더
-				int cols = model.getColumnCount();
-				String[] header = new String[cols - 1]; // ID는 제외
-				for (int c = 0; c < cols - 1; c++) header[c] = model.getColumnName(c);
-				CsvUtil.writeLine(w, header);
-
-				// 데이터 (뷰 정렬 반영: sorter 사용)
-				for (int vrow = 0; vrow < table.getRowCount(); vrow++) {
-					int row = table.convertRowIndexToModel(vrow);
-					String[] cells = new String[cols - 1]; // ID 제외
-					for (int c = 0; c < cols - 1; c++) {
-						Object v = model.getValueAt(row, c);
-						cells[c] = (v == null) ? "" : String.valueOf(v);
-					}
-					CsvUtil.writeLine(w, cells);
+		if (model.getRowCount() == 0) { msg("내보낼 데이터가 없습니다."); return; }
+
+		JFileChooser fc = new JFileChooser();
+		fc.setDialogTitle("CSV 내보내기");
+		fc.setSelectedFile(new File("attendance-export.csv"));
+		if (fc.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+		File file = fc.getSelectedFile();
+
+		// 화면과 같은 순서, 검색 중이면 검색 결과만
+		Scope scope = model.isFiltered() ? model.scope().withText(lastQuery) : model.scope();
+		long expected = model.getRowCount();
+
+		ProgressMonitor pm = new ProgressMonitor(this, "CSV 내보내는 중...", "", 0, 1000);
+		pm.setMillisToDecideToPopup(200);
+		java.util.concurrent.atomic.AtomicBoolean cancel = new java.util.concurrent.atomic.AtomicBoolean();
+		btnExport.setEnabled(false);
+
+		new SwingWorker<com.maemong.attendance.service.AttendanceCsvExporter.Result, Void>() {
+			@Override protected com.maemong.attendance.service.AttendanceCsvExporter.Result doInBackground() throws Exception {
+				return new com.maemong.attendance.service.AttendanceCsvExporter().export(scope, expected, file, cancel::get,
+						(rows, total, bytes) -> SwingUtilities.invokeLater(() -> {
+							if (pm.isCanceled()) { cancel.set(true); return; }
+							pm.setProgress(total <= 0 ? 0 : (int) Math.min(1000, rows * 1000 / total));
+							pm.setNote(rows + "행 · " + (bytes >> 20) + "MB");
+						}));
+			}
+
+			@Override protected void done() {
+				pm.close();
+				btnExport.setEnabled(true);
+				try {
+					var r = get();
+					if (r.cancelled()) msg("내보내기를 취소했습니다.");
+					else msg("CSV로 내보냈습니다: " + r.rowsWritten() + "행\n" + file.getAbsolutePath());
+				} catch (java.util.concurrent.ExecutionException ex) {
+					showErr(new RuntimeException("내보내기 중 오류: " + ex.getCause().getMessage(), ex.getCause()));
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
 				}
 			}
-			msg("CSV로 내보냈습니다:\n" + file.getAbsolutePath());
-		} catch (Exception ex) {
-			ex.printStackTrace();
-			showErr(new RuntimeException("내보내기 중 오류: " + ex.getMessage()));
-		}
+		}.execute();
+	}
+
+	/* ===================== CSV Import ===================== */
+
+	/** 파일 선택 → 검증(dry-run) 결과 확인 → 가져오기. 둘 다 백그라운드에서 진행률 표시 */
+	private void importCsv() {
+		JFileChooser fc = new JFileChooser();
+		fc.setDialogTitle("CSV 가져오기");
+		if (fc.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+		File file = fc.getSelectedFile();
+
+		runImport(file, true, check -> {
+			StringBuilder sb = new StringBuilder()
+					.append("검증 결과\n\n")
+					.append("가져올 행: ").append(check.rowsImported()).append('\n')
+					.append("오류 행: ").append(check.rowsInvalid()).append('\n');
+			for (int i = 0; i < Math.min(5, check.errors().size()); i++) {
+				sb.append("  · ").append(check.errors().get(i)).append('\n');
+			}
+			sb.append("\n오류 행은 건너뛰고 가져올까요? (중단돼도 다시 실행하면 이어서 진행)");
+			int c = JOptionPane.showConfirmDialog(this, sb.toString(), "CSV 가져오기",
+					JOptionPane.OK_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE);
+			if (c != JOptionPane.OK_OPTION) return;
+
+			runImport(file, false, done -> {
+				msg("가져오기 완료: " + done.rowsImported() + "건"
+						+ (done.resumedFrom() > 0 ? " (이전 진행분 " + done.resumedFrom() + "건 이후부터)" : "")
+						+ (done.rowsInvalid() > 0 ? "\n건너뛴 오류 행: " + done.rowsInvalid() + "건" : ""));
+				loadRecords();
+			});
+		});
+	}
+
+	private void runImport(File file, boolean dryRun,
+	                       java.util.function.Consumer<com.maemong.attendance.service.AttendanceCsvImporter.Result> onDone) {
+		ProgressMonitor pm = new ProgressMonitor(this, dryRun ? "CSV 검증 중..." : "CSV 가져오는 중...", "", 0, 1000);
+		pm.setMillisToDecideToPopup(200);
+		btnImport.setEnabled(false);
+
+		new SwingWorker<com.maemong.attendance.service.AttendanceCsvImporter.Result, Void>() {
+			@Override protected com.maemong.attendance.service.AttendanceCsvImporter.Result doInBackground() throws Exception {
+				return new com.maemong.attendance.service.AttendanceCsvImporter().importFile(file, dryRun,
+						(read, imported, bytes, total) -> SwingUtilities.invokeLater(() -> {
+							pm.setProgress(total == 0 ? 1000 : (int) Math.min(1000, bytes * 1000 / total));
+							pm.setNote(read + "행 처리");
+						}));
+			}
+
+			@Override protected void done() {
+				pm.close();
+				btnImport.setEnabled(true);
+				try {
+					onDone.accept(get());
+				} catch (java.util.concurrent.ExecutionException ex) {
+					showErr(new RuntimeException("가져오기 중 오류: " + ex.getCause().getMessage(), ex.getCause()));
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}.execute();
 	}
 
 	/* ===================== Renderers ===================== */
@@ -475,11 +597,7 @@ public class PanelRecords extends JPanel implements UnsavedAware {
 		                                               boolean isSelected, boolean hasFocus,
 		                                               int row, int column) {
 			Component c = super.getTableCellRendererComponent(tbl, val, isSelected, hasFocus, row, column);
-			int mRow = tbl.convertRowIndexToModel(row);
-			String empNo = safe((String) model.getValueAt(mRow,0));
-			String date  = safe((String) model.getValueAt(mRow,2));
-			String key = empNo + "|" + date;
-			boolean dup = dupCountByKey.getOrDefault(key, 0) > 1;
+			boolean dup = model.isDuplicate(row);
 
 			if (isSelected) {
 				c.setBackground(SEL_BG);
@@ -504,16 +622,10 @@ public class PanelRecords extends JPanel implements UnsavedAware {
 	}
 
 	private void installSearchFilter() {
-		// 문서 변경 시마다 필터 적용
+		// 입력할 때마다 타이머만 다시 시작 → 멈추면 applySearch 한 번
+		searchDebounce.setRepeats(false);
 		javax.swing.event.DocumentListener dl = new javax.swing.event.DocumentListener() {
-			private void apply() {
-				String q = tfSearch.getText().trim();
-				if (q.isEmpty()) {
-					sorter.setRowFilter(null);
-				} else {
-					sorter.setRowFilter(RowFilter.regexFilter("(?i)" + java.util.regex.Pattern.quote(q)));
-				}
-			}
+			private void apply() { searchDebounce.restart(); }
 			@Override public void insertUpdate(javax.swing.event.DocumentEvent e) { apply(); }
 			@Override public void removeUpdate(javax.swing.event.DocumentEvent e) { apply(); }
 			@Override public void changedUpdate(javax.swing.event.DocumentEvent e) { apply(); }
@@ -523,13 +635,12 @@ public class PanelRecords extends JPanel implements UnsavedAware {
 		// 지우기 버튼
 		btnClearSearch.addActionListener(e -> {
 			tfSearch.setText("");
-			sorter.setRowFilter(null);
 			tfSearch.requestFocusInWindow();
 		});
 	}
 
 	private void msg(String s){ JOptionPane.showMessageDialog(this, s); }
-	private void showErr(Exception ex){
+	private void showErr(Throwable ex){
 		ex.printStackTrace();
 		JOptionPane.showMessageDialog(this, ex.getMessage(), "오류", JOptionPane.ERROR_MESSAGE);
 	}
@@ -0,0 +1,83 @@
+package com.maemong.attendance.ui;
+
+import com.maemong.attendance.model.AttendanceRecord;
+import com.maemong.attendance.repository.AttendanceRepository;
+import com.maemong.attendance.repository.AttendanceRepository.Scope;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+
+/**
+ * 조회 탭 검색 인덱스 (조회 조건 하나의 전체 행)
+ * - 조회할 때 한 번, 행마다 사번/이름/날짜/출근/퇴근/메모를 이어 붙여 Scope.fold 로 접은 문자열 + id 를 화면 순서대로 보관
+ * - 검색은 부분 문자열 비교만 (정규식/셀 단위 변환 없음). 검색어가 길어지기만 했으면 직전 결과 안에서만 다시 거름
+ * - 일치 기준은 AttendanceRepository.Scope#text (SQL 검색) 와 같음 (대소문자는 ASCII 만, Scope.fold)
+ *   → 큰 조회는 인덱스 없이 SQL 로 대신하고, CSV 내보내기(SQL)도 화면과 같은 행
+ * - 만든 뒤에는 읽기 전용 → 백그라운드 스레드에서 filter() 호출 가능
+ */
+final class RecordSearchIndex {
+
+	/** 이보다 행이 많은 조회는 인덱스를 만들지 않음 (메모리 상한) */
+	static final int MAX_ROWS = 50_000;
+
+	/** 셀 경계를 넘는 일치를 막는 구분자 (SQL 검색의 char(31) 과 동일) */
+	private static final char SEP = '\u001f';
+
+	private final long[] ids;
+	private final String[] text;
+
+	private RecordSearchIndex(long[] ids, String[] text) {
+		this.ids = ids;
+		this.text = text;
+	}
+
+	/** 조건 전체를 화면과 같은 순서로 읽어 인덱스 생성 (EDT 밖에서) */
+	static RecordSearchIndex build(AttendanceRepository repo, Scope scope, int expectedRows) throws SQLException {
+		long[] ids = new long[Math.max(16, expectedRows)];
+		String[] text = new String[ids.length];
+		int[] n = {0};
+		repo.forEach(scope, r -> {
+			if (n[0] == ids.length) return; // 센 뒤에 늘어난 행은 다음 조회 때
+			ids[n[0]] = r.getId();
+			text[n[0]] = key(r);
+			n[0]++;
+		});
+		return new RecordSearchIndex(Arrays.copyOf(ids, n[0]), Arrays.copyOf(text, n[0]));
+	}
+
+	/** 검색어 정규화 (앞뒤 공백 제거 + ASCII 소문자) */
+	static String normalize(String q) {
+		return q == null ? "" : Scope.fold(q.trim());
+	}
+
+	int size() { return ids.length; }
+
+	/**
+	 * 정규화된 검색어 q 를 포함하는 행 위치 (오름차순)
+	 * within: 직전 검색 결과 (q 가 직전 검색어를 포함해 길어진 경우) → 그 안에서만 검사. null 이면 전체
+	 */
+	int[] filter(String q, int[] within) {
+		int n = within == null ? text.length : within.length;
+		int[] hits = new int[n];
+		int k = 0;
+		for (int i = 0; i < n; i++) {
+			int pos = within == null ? i : within[i];
+			if (text[pos].contains(q)) hits[k++] = pos;
+		}
+		return Arrays.copyOf(hits, k);
+	}
+
+	/** 행 위치 → 기록 id */
+	long[] ids(int[] positions) {
+		long[] out = new long[positions.length];
+		for (int i = 0; i < out.length; i++) out[i] = ids[positions[i]];
+		return out;
+	}
+
+	private static String key(AttendanceRecord r) {
+		return Scope.fold(safe(r.getEmpNo()) + SEP + safe(r.getEmpName()) + SEP + safe(r.getDate()) + SEP
+				+ safe(r.getInTime()) + SEP + safe(r.getOutTime()) + SEP + safe(r.getMemo()));
+	}
+
+	private static String safe(String s) { return s == null ? "" : s; }
+}
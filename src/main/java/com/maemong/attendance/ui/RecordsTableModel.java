@@ -0,0 +1,197 @@
+package com.maemong.attendance.ui;
+
+import com.maemong.attendance.model.AttendanceRecord;
+import com.maemong.attendance.repository.AttendanceRepository;
+import com.maemong.attendance.repository.AttendanceRepository.Page;
+import com.maemong.attendance.repository.AttendanceRepository.PageKey;
+import com.maemong.attendance.repository.AttendanceRepository.Scope;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * 조회 탭 테이블 모델 (가상 스크롤)
+ * - 행 수만 먼저 알고, 화면에 보이는 행의 페이지(PAGE_SIZE 행)만 백그라운드에서 읽어 채움
+ * - 메모리에는 최근 접근한 MAX_PAGES 페이지만 유지 (멀어진 페이지는 LRU 로 버림) → 기간이 길어도 일정
+ * - 이웃 페이지가 있으면 그 경계 키로 keyset 조회, 없을 때(스크롤바로 건너뛰기)만 OFFSET 조회
+ * - 아직 안 읽힌 행은 빈 칸으로 그리고, 도착하면 그 구간만 다시 그림
+ * - 페이지 표는 페이지 번호로 바로 찾는 배열 → 그리기(getValueAt/isDuplicate) 중 박싱/할당 없음
+ * - 검색 결과(filter)는 id 목록으로 받아, 같은 방식으로 id 구간 단위 페이지를 읽음
+ */
+final class RecordsTableModel extends AbstractTableModel {
+	private static final long serialVersionUID = 1L;
+
+	static final int PAGE_SIZE = 200;
+	static final int MAX_PAGES = 10;
+
+	/** 표시 컬럼 (ID 는 숨김 컬럼) */
+	static final String[] COLUMNS = {"사번", "이름", "날짜", "출근", "퇴근", "메모", "ID"};
+	static final int COL_ID = 6;
+
+	private final AttendanceRepository repo;
+	private Scope scope = Scope.ALL;
+	/** 조건 전체 행 수 */
+	private int scopeCount;
+	/** 검색으로 거른 행 id (화면 순서). null 이면 조건 전체 */
+	private long[] filterIds;
+	private int rowCount;
+	/** load() 마다 증가 → 이전 조건으로 늦게 도착한 페이지는 버림 */
+	private int generation;
+	/** 마지막으로 화면이 요청한 페이지 (요청이 밀렸다가 시작될 때 이미 멀어졌으면 건너뜀) */
+	private volatile int wantedPage;
+
+	/** 페이지 번호 → 읽어 둔 페이지 (null = 안 읽음). 최대 MAX_PAGES 개만 채워 둠 */
+	private Page[] pages = new Page[0];
+	/** 페이지별 마지막 접근 순번 (LRU 판정) */
+	private long[] touched = new long[0];
+	private boolean[] loading = new boolean[0];
+	private long clock;
+	private int loaded;
+
+	RecordsTableModel(AttendanceRepository repo) {
+		this.repo = repo;
+	}
+
+	Scope scope() { return scope; }
+
+	/**
+	 * 새 조건으로 교체 (EDT). 행 수와 첫 페이지는 호출부에서 미리 읽어 넘김
+	 * - 첫 화면은 추가 조회 없이 바로 그려짐
+	 */
+	void load(Scope scope, int rowCount, Page firstPage) {
+		this.scope = scope;
+		this.scopeCount = rowCount;
+		this.filterIds = null;
+		reset(rowCount);
+		if (pages.length > 0 && !firstPage.isEmpty()) store(0, firstPage);
+		fireTableDataChanged();
+	}
+
+	/** 검색 결과로 교체 (ids: 화면 순서의 기록 id, null 이면 조건 전체로 복귀). 한 번에 다시 그림 */
+	void filter(long[] ids) {
+		this.filterIds = ids;
+		reset(ids == null ? scopeCount : ids.length);
+		fireTableDataChanged();
+	}
+
+	boolean isFiltered() { return filterIds != null; }
+
+	private void reset(int rowCount) {
+		this.rowCount = rowCount;
+		generation++;
+		int n = (rowCount + PAGE_SIZE - 1) / PAGE_SIZE;
+		pages = new Page[n];
+		touched = new long[n];
+		loading = new boolean[n];
+		loaded = 0;
+	}
+
+	/** 읽혀 있는 행 (없으면 null, 읽기를 요청함) */
+	AttendanceRecord recordAt(int row) {
+		Page p = page(row);
+		return p == null ? null : p.rows().get(row % PAGE_SIZE);
+	}
+
+	/** 같은 사번/입근일 기록이 2건 이상인 행 (조회 때 SQL 에서 계산해 둔 값) */
+	boolean isDuplicate(int row) {
+		Page p = page(row);
+		return p != null && p.duplicate()[row % PAGE_SIZE];
+	}
+
+	@Override public int getRowCount() { return rowCount; }
+	@Override public int getColumnCount() { return COLUMNS.length; }
+	@Override public String getColumnName(int c) { return COLUMNS[c]; }
+	@Override public boolean isCellEditable(int r, int c) { return false; }
+
+	@Override
+	public Object getValueAt(int row, int col) {
+		AttendanceRecord r = recordAt(row);
+		if (r == null) return null;
+		return switch (col) {
+			case 0 -> safe(r.getEmpNo());
+			case 1 -> safe(r.getEmpName());
+			case 2 -> safe(r.getDate());
+			case 3 -> safe(r.getInTime());
+			case 4 -> safe(r.getOutTime());
+			case 5 -> safe(r.getMemo());
+			default -> r.getId();
+		};
+	}
+
+	/* ===================== Paging ===================== */
+
+	private Page page(int row) {
+		if (row < 0 || row >= rowCount) return null;
+		int no = row / PAGE_SIZE;
+		Page p = pages[no];
+		if (p == null) {
+			request(no);
+			return null;
+		}
+		touched[no] = ++clock;
+		// 행 수를 센 뒤 삭제 등으로 페이지가 짧아졌으면 빈 칸 (다시 조회하면 맞춰짐)
+		return p.size() > row % PAGE_SIZE ? p : null;
+	}
+
+	private void request(int no) {
+		wantedPage = no;
+		if (loading[no]) return;
+		loading[no] = true;
+
+		final int gen = generation;
+		final Scope s = scope;
+		final long[] ids = filterIds == null ? null
+				: java.util.Arrays.copyOfRange(filterIds, no * PAGE_SIZE, Math.min(filterIds.length, (no + 1) * PAGE_SIZE));
+		// 이웃 페이지가 가득 차 있으면 그 경계에서 keyset 으로 이어 읽음 (EDT 에서 키만 꺼내 둠)
+		Page prev = no > 0 ? pages[no - 1] : null;
+		Page next = no + 1 < pages.length ? pages[no + 1] : null;
+		final PageKey after  = (prev != null && prev.size() == PAGE_SIZE)
+				? PageKey.of(prev.rows().get(PAGE_SIZE - 1)) : null;
+		final PageKey before = (after == null && next != null && !next.isEmpty())
+				? PageKey.of(next.rows().get(0)) : null;
+
+		new SwingWorker<Page, Void>() {
+			@Override protected Page doInBackground() throws Exception {
+				if (Math.abs(no - wantedPage) >= MAX_PAGES) return null; // 이미 지나친 위치
+				if (ids != null)    return repo.findByIds(ids);
+				if (after != null)  return repo.findPageAfter(s, after, PAGE_SIZE);
+				if (before != null) return repo.findPageBefore(s, before, PAGE_SIZE);
+				return repo.findPageAt(s, no * PAGE_SIZE, PAGE_SIZE);
+			}
+
+			@Override protected void done() {
+				if (gen != generation) return; // 조건이 바뀐 뒤 도착
+				loading[no] = false;
+				try {
+					Page p = get();
+					if (p == null) return;
+					store(no, p);
+					int first = no * PAGE_SIZE;
+					int last = Math.min(rowCount, first + PAGE_SIZE) - 1;
+					if (first <= last) fireTableRowsUpdated(first, last);
+				} catch (java.util.concurrent.ExecutionException ex) {
+					ex.getCause().printStackTrace(); // 다시 보이면 재요청
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}.execute();
+	}
+
+	/** 페이지 보관 + MAX_PAGES 를 넘으면 가장 오래 안 쓴 페이지 버림 */
+	private void store(int no, Page p) {
+		if (pages[no] == null) loaded++;
+		pages[no] = p;
+		touched[no] = ++clock;
+		while (loaded > MAX_PAGES) {
+			int victim = -1;
+			for (int i = 0; i < pages.length; i++) {
+				if (pages[i] != null && i != no && (victim < 0 || touched[i] < touched[victim])) victim = i;
+			}
+			pages[victim] = null;
+			loaded--;
+		}
+	}
+
+	private static String safe(String s) { return s == null ? "" : s; }
+}
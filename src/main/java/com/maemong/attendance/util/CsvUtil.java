@@ -0,0 +1,88 @@
+package com.maemong.attendance.util;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV 읽기/쓰기 보조 (UTF-8 BOM, 쉼표 구분, 큰따옴표 인용)
+ * - 서비스(가져오기/내보내기)와 화면이 같이 씀 → ui 가 아닌 util 에 둠
+ */
+public final class CsvUtil {
+	private CsvUtil() {}
+
+	/** ✅ UTF-8 with BOM Writer (엑셀 한글 깨짐 방지) */
+	public static Writer newUtf8BomWriter(File file) throws IOException {
+		FileOutputStream fos = new FileOutputStream(file);
+		// UTF-8 BOM: EF BB BF
+		fos.write(0xEF);
+		fos.write(0xBB);
+		fos.write(0xBF);
+		return new OutputStreamWriter(fos, StandardCharsets.UTF_8);
+	}
+
+	/** ✅ UTF-8 Reader (앞에 BOM이 있으면 건너뜀) */
+	public static Reader newUtf8BomReader(InputStream in) throws IOException {
+		BufferedInputStream bin = new BufferedInputStream(in);
+		bin.mark(3);
+		if (!(bin.read() == 0xEF && bin.read() == 0xBB && bin.read() == 0xBF)) bin.reset();
+		return new BufferedReader(new InputStreamReader(bin, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * CSV 한 레코드 읽기 (writeLine 형식의 역: 쉼표 구분, 큰따옴표 인용, "" 이스케이프)
+	 * - 인용된 셀 안의 줄바꿈 허용, 줄 끝은 \n / \r\n 모두 허용
+	 * - 파일 끝이면 null
+	 */
+	public static String[] readRecord(Reader in) throws IOException {
+		int ch = in.read();
+		if (ch < 0) return null;
+
+		List<String> cells = new ArrayList<>();
+		StringBuilder cell = new StringBuilder();
+		boolean quoted = false;
+		while (true) {
+			if (quoted) {
+				if (ch < 0) throw new EOFException("닫는 큰따옴표 없이 파일이 끝났습니다.");
+				if (ch == '"') {
+					ch = in.read();
+					if (ch == '"') { cell.append('"'); ch = in.read(); continue; } // "" → "
+					quoted = false;
+					continue;
+				}
+				cell.append((char) ch);
+			} else if (ch == '"' && cell.isEmpty()) {
+				quoted = true;
+			} else if (ch == ',') {
+				cells.add(cell.toString());
+				cell.setLength(0);
+			} else if (ch == '\n' || ch < 0) {
+				break;
+			} else if (ch == '\r') {
+				// \r\n 의 \r 은 버림 (다음 \n 에서 종료)
+			} else {
+				cell.append((char) ch);
+			}
+			ch = in.read();
+		}
+		cells.add(cell.toString());
+		return cells.toArray(new String[0]);
+	}
+
+	public static void writeLine(Appendable out, String[] cells) throws IOException {
+		boolean first = true;
+		for (String cell : cells) {
+			if (!first) out.append(',');
+			out.append(escape(cell == null ? "" : cell));
+			first = false;
+		}
+		out.append('\n');
+	}
+
+	private static String escape(String s) {
+		boolean needQuote = s.contains(",") || s.contains("\"") || s.contains("\n") || s.contains("\r");
+		String v = s.replace("\"", "\"\"");
+		return needQuote ? "\"" + v + "\"" : v;
+	}
+}